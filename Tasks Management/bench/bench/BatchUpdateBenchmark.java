@@ -0,0 +1,166 @@
+package bench;
+
+import models.Category;
+import models.SearchCriteria;
+import models.Task;
+import models.TaskBatch;
+import services.CategoryServiceImpl;
+import services.ConcurrentTaskService;
+import services.TaskService;
+import services.TaskServiceImpl;
+import storage.CategoryJournal;
+import storage.TaskJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Completes every past-due task of one category, first with one updateTask call per task
+// and then with a single updateMatching batch, on journaled services whose indexes are
+// built. Reports time, change notifications and journal bytes for each, then checks that
+// both end in the same state and that a mixed applyBatch survives a restart.
+// Usage: BatchUpdateBenchmark [taskCount]
+public class BatchUpdateBenchmark {
+    private static final long BASE_TIME = 1_735_000_000_000L;
+    private static final long CUTOFF = BASE_TIME + 240L * 24 * 60 * 60 * 1000;
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = TaskFixtures.intArg(args, 0, 100_000);
+        Path oneByOne = Files.createTempDirectory("batch-single");
+        Path batched = Files.createTempDirectory("batch-batched");
+        try {
+            List<Task> single = run("updateTask loop", oneByOne, taskCount, (service, work) -> {
+                int count = 0;
+                for (Task task : service.advancedSearch(pastDue(work))) {
+                    Task edited = task.copy();
+                    edited.setCompleted(true);
+                    service.updateTask(edited);
+                    count++;
+                }
+                return count;
+            });
+            List<Task> batch = run("updateMatching", batched, taskCount,
+                    (service, work) -> service.updateMatching(pastDue(work), task -> task.setCompleted(true)));
+            compare("single vs batched", single, batch);
+
+            // Mixed batch: add, then update and delete existing tasks, then reopen
+            try (CategoryJournal categoryJournal = new CategoryJournal(batched)) {
+                CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryJournal);
+                try (TaskJournal taskJournal = newTaskJournal(batched, categoryService)) {
+                    TaskService service = new ConcurrentTaskService(new TaskServiceImpl(categoryService, taskJournal));
+                    List<Task> current = service.getAllTasks();
+                    int firstId = service.reserveTaskIds(3);
+                    TaskBatch mixed = new TaskBatch();
+                    for (int i = 0; i < 3; i++) {
+                        mixed.add(new Task(firstId + i, "batched #" + i, categoryService.getAllCategories().get(i),
+                                new Date(CUTOFF + i), Task.ImportanceLevel.IMPORTANT_URGENT));
+                    }
+                    Task edited = current.get(7).copy();
+                    edited.setDescription("edited in a batch");
+                    mixed.update(edited).delete(current.get(3).getId()).delete(firstId + 1).delete(-1);
+                    int applied = service.applyBatch(mixed);
+                    if (applied != 6) {
+                        throw new IllegalStateException("Expected 6 operations to apply, got " + applied);
+                    }
+                    batch = service.getAllTasks();
+                }
+            }
+            compare("after restart", batch, reopen(batched));
+            System.out.println("All checks passed");
+        } finally {
+            deleteRecursively(oneByOne);
+            deleteRecursively(batched);
+        }
+    }
+
+    private interface Completion {
+        int run(TaskService service, Category work);
+    }
+
+    private static SearchCriteria pastDue(Category category) {
+        return new SearchCriteria.Builder()
+                .withCategory(category)
+                .withCompletionStatus(false)
+                .withDateRange(new Date(Long.MIN_VALUE), new Date(CUTOFF))
+                .build();
+    }
+
+    private static List<Task> run(String label, Path dir, int taskCount, Completion completion) throws IOException {
+        try (CategoryJournal categoryJournal = new CategoryJournal(dir)) {
+            CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryJournal);
+            try (TaskJournal taskJournal = newTaskJournal(dir, categoryService)) {
+                TaskService service = new ConcurrentTaskService(new TaskServiceImpl(categoryService, taskJournal));
+                for (Task task : service.getAllTasks()) {
+                    service.deleteTask(task.getId()); // the seeded defaults take their seconds from the clock
+                }
+                service.addTasks(TaskFixtures.randomTasks(taskCount, 100, 42, categoryService.getAllCategories()));
+                Category work = categoryService.getAllCategories().get(0);
+                // Build the indexes and a sorted view, as the screens would
+                service.getStatistics();
+                service.getTasksPage(work, Task.SortCriteria.DEADLINE_ASC, 0, 20);
+                AtomicInteger notifications = new AtomicInteger();
+                service.addTaskListener(changes -> notifications.incrementAndGet());
+                taskJournal.sync();
+                long journalBefore = Files.size(dir.resolve("tasks.journal"));
+
+                long start = System.nanoTime();
+                int completed = completion.run(service, work);
+                taskJournal.sync();
+                long elapsed = System.nanoTime() - start;
+                long journalBytes = Files.size(dir.resolve("tasks.journal")) - journalBefore;
+                System.out.printf("%-16s %6d tasks completed in %8.1f ms, %6d notifications, %8d journal bytes%n",
+                        label, completed, elapsed / 1e6, notifications.get(), journalBytes);
+                if (service.getTasksPage(work, Task.SortCriteria.DEADLINE_ASC, 0, 1).getTotalCount() == 0) {
+                    throw new IllegalStateException("Sorted view lost its tasks");
+                }
+                return service.getAllTasks();
+            }
+        }
+    }
+
+    private static List<Task> reopen(Path dir) throws IOException {
+        try (CategoryJournal categoryJournal = new CategoryJournal(dir)) {
+            CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryJournal);
+            try (TaskJournal taskJournal = newTaskJournal(dir, categoryService)) {
+                return new TaskServiceImpl(categoryService, taskJournal).getAllTasks();
+            }
+        }
+    }
+
+    private static void compare(String label, List<Task> expected, List<Task> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException(label + ": " + expected.size() + " tasks vs " + actual.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Task a = expected.get(i);
+            Task b = actual.get(i);
+            if (a.getId() != b.getId() || a.isCompleted() != b.isCompleted()
+                    || !a.getDescription().equals(b.getDescription())
+                    || a.getCategory().getId() != b.getCategory().getId()
+                    || a.getDeadline().getTime() != b.getDeadline().getTime()) {
+                throw new IllegalStateException(label + ": task at " + i + " differs");
+            }
+        }
+    }
+
+    private static TaskJournal newTaskJournal(Path dir, CategoryServiceImpl categoryService) throws IOException {
+        Map<Integer, Category> categoriesById = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoriesById.put(category.getId(), category);
+        }
+        return new TaskJournal(dir, categoriesById::get, 50, Integer.MAX_VALUE);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
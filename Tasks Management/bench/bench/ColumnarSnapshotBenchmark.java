@@ -0,0 +1,76 @@
+package bench;
+
+import models.Category;
+import models.Task;
+import models.TaskStore;
+import services.CategoryServiceImpl;
+import services.TaskServiceImpl;
+import storage.ColumnarSnapshot;
+import storage.TaskJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Measures opening a large columnar snapshot and materializing rows on demand.
+// Usage: ColumnarSnapshotBenchmark [taskCount]
+public class ColumnarSnapshotBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = TaskFixtures.intArg(args, 0, 5_000_000);
+        List<Category> categories = TaskFixtures.categories();
+        Path dir = Files.createTempDirectory("todo-columnar-bench");
+        try {
+            Path file = dir.resolve("tasks.columns");
+            List<Task> generated = TaskFixtures.randomTasks(taskCount, 42, categories);
+            long start = System.nanoTime();
+            ColumnarSnapshot.write(file, generated, generated.size(), 1);
+            System.out.printf("write %d tasks: %.1f ms, %d MB%n", taskCount,
+                    (System.nanoTime() - start) / 1e6, Files.size(file) >> 20);
+            generated = null;
+
+            for (int run = 0; run < 3; run++) {
+                long heapBefore = usedHeap();
+                start = System.nanoTime();
+                TaskStore store = new TaskStore(ColumnarSnapshot.open(file, id -> categories.get(id - 1)));
+                long openNanos = System.nanoTime() - start;
+
+                Random random = new Random(run);
+                start = System.nanoTime();
+                int lookups = 10_000;
+                long checksum = 0;
+                for (int i = 0; i < lookups; i++) {
+                    checksum += store.get(1 + random.nextInt(taskCount)).getDescription().length();
+                }
+                long lookupNanos = System.nanoTime() - start;
+
+                System.out.printf("open: %.2f ms (%d tasks, heap +%d KB); %d random lookups: %.1f us each (%d)%n",
+                        openNanos / 1e6, store.size(), (usedHeap() - heapBefore) >> 10,
+                        lookups, lookupNanos / 1e3 / lookups, checksum);
+            }
+
+            // Full service startup through the journal (snapshot mapped, empty tail)
+            try (TaskJournal journal = new TaskJournal(dir, id -> categories.get(id - 1))) {
+                Files.move(file, dir.resolve("tasks-1.columns"));
+                start = System.nanoTime();
+                TaskServiceImpl service = new TaskServiceImpl(new CategoryServiceImpl(), journal);
+                System.out.printf("TaskServiceImpl startup: %.2f ms (%d tasks)%n",
+                        (System.nanoTime() - start) / 1e6, service.getTotalTaskCount());
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
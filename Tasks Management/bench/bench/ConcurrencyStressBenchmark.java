@@ -0,0 +1,218 @@
+package bench;
+
+import models.Category;
+import models.SearchCriteria;
+import models.Task;
+import models.TaskPage;
+import models.TaskStatistics;
+import services.CategoryServiceImpl;
+import services.ConcurrentTaskService;
+import services.TaskService;
+import services.TaskServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hammers one ConcurrentTaskService from 1, 2, 4, ... threads with a mixed workload of
+// about 80% reads and 20% writes, reporting throughput per thread count, and checks:
+//  - linearizability per key: every thread owns a category that only it writes, so each
+//    of its reads must reflect exactly the writes it has completed, no more and no less
+//  - snapshot consistency: the counts inside one statistics read always add up, and a
+//    page read is always in order
+//  - no lost updates: after the threads stop, every owned category matches its owner
+// Usage: ConcurrencyStressBenchmark [taskCount] [maxThreads] [millisPerStep]
+public class ConcurrencyStressBenchmark {
+    private static final int OWNED_CATEGORY_BASE = 100;
+    private static final int OWNED_ID_BASE = 100_000_000;
+    private static final int OWNED_ID_RANGE = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int taskCount = TaskFixtures.intArg(args, 0, 100_000);
+        int maxThreads = TaskFixtures.intArg(args, 1, 32);
+        int millisPerStep = TaskFixtures.intArg(args, 2, 2000);
+
+        System.out.printf("%d tasks, %d cores available, %d ms per step%n",
+                taskCount, Runtime.getRuntime().availableProcessors(), millisPerStep);
+        // Warm up the JIT so the single-thread baseline is not mostly interpreter time
+        Step warmup = new Step(taskCount, 2);
+        warmup.run(millisPerStep);
+        long totalViolations = warmup.violations.get();
+
+        System.out.printf("%8s %12s %10s %12s%n", "threads", "ops/s", "scaling", "violations");
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Step step = new Step(taskCount, threads);
+            step.run(millisPerStep);
+            double opsPerSecond = step.operations.get() * 1000.0 / millisPerStep;
+            if (threads == 1) {
+                single = opsPerSecond;
+            }
+            totalViolations += step.violations.get();
+            System.out.printf("%8d %12.0f %9.2fx %12d%n", threads, opsPerSecond, opsPerSecond / single,
+                    step.violations.get());
+        }
+        System.out.println(totalViolations == 0 ? "OK: no violations" : "FAILED: " + totalViolations + " violations");
+        if (totalViolations != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static class Step {
+        final TaskService service;
+        final int threads;
+        final int baseCount;
+        final AtomicLong operations = new AtomicLong();
+        final AtomicLong violations = new AtomicLong();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Worker[] workers;
+
+        Step(int taskCount, int threads) {
+            CategoryServiceImpl categoryService = new CategoryServiceImpl();
+            TaskServiceImpl impl = new TaskServiceImpl(categoryService);
+            for (Task task : TaskFixtures.randomTasks(taskCount, 1000, 7, TaskFixtures.categories())) {
+                impl.addTask(task);
+            }
+            this.service = new ConcurrentTaskService(impl);
+            this.threads = threads;
+            this.baseCount = service.getTotalTaskCount();
+            this.workers = new Worker[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(this, i);
+            }
+        }
+
+        void run(int millis) throws InterruptedException {
+            CountDownLatch done = new CountDownLatch(threads);
+            for (Worker worker : workers) {
+                Thread thread = new Thread(() -> {
+                    worker.run();
+                    done.countDown();
+                }, "stress-" + worker.index);
+                thread.start();
+            }
+            Thread.sleep(millis);
+            running.set(false);
+            done.await();
+
+            // No lost updates: the final state must match what every owner did
+            TaskStatistics statistics = service.getStatistics();
+            int expectedTotal = baseCount;
+            for (Worker worker : workers) {
+                expectedTotal += worker.owned.size();
+                if (statistics.getCategoryCount(worker.category.getId()) != worker.owned.size()) {
+                    violation("final count of category " + worker.category.getId());
+                }
+            }
+            if (statistics.getTotal() != expectedTotal) {
+                violation("final total " + statistics.getTotal() + ", expected " + expectedTotal);
+            }
+        }
+
+        void violation(String message) {
+            if (violations.incrementAndGet() <= 10) {
+                System.out.println("  violation: " + message);
+            }
+        }
+    }
+
+    private static class Worker {
+        final Step step;
+        final int index;
+        final Category category;
+        final List<Task> owned = new ArrayList<>();
+        final Random random;
+        int nextId;
+        int incomplete;
+
+        Worker(Step step, int index) {
+            this.step = step;
+            this.index = index;
+            this.category = new Category(OWNED_CATEGORY_BASE + index, "Stress " + index);
+            this.random = new Random(index);
+            this.nextId = OWNED_ID_BASE + index * OWNED_ID_RANGE;
+        }
+
+        void run() {
+            long operations = 0;
+            while (step.running.get()) {
+                int choice = random.nextInt(10);
+                if (choice < 2) {
+                    write();
+                } else if (choice < 5) {
+                    checkOwnCounts();
+                } else if (choice < 8) {
+                    checkPage();
+                } else {
+                    checkStatistics();
+                }
+                operations++;
+            }
+            step.operations.addAndGet(operations);
+        }
+
+        private void write() {
+            int choice = random.nextInt(3);
+            if (choice == 0 || owned.isEmpty()) {
+                Task task = new Task(nextId++, "stress task " + nextId, category,
+                        new Date(1_735_000_000_000L + random.nextInt(1_000_000_000)), Task.ImportanceLevel.IMPORTANT_URGENT);
+                step.service.addTask(task);
+                owned.add(task);
+                incomplete++;
+            } else if (choice == 1) {
+                Task task = owned.get(random.nextInt(owned.size()));
+                task.setCompleted(!task.isCompleted());
+                step.service.updateTask(task);
+                incomplete += task.isCompleted() ? -1 : 1;
+            } else {
+                Task task = owned.remove(random.nextInt(owned.size()));
+                step.service.deleteTask(task.getId());
+                if (!task.isCompleted()) {
+                    incomplete--;
+                }
+            }
+        }
+
+        // Only this thread writes its category, so reads must match its own history exactly
+        private void checkOwnCounts() {
+            SearchCriteria pending = new SearchCriteria.Builder()
+                    .withCategory(category)
+                    .withCompletionStatus(false)
+                    .build();
+            int seen = step.service.searchPage(pending, Task.SortCriteria.DEADLINE_ASC, 0, 0).getTotalCount();
+            if (seen != incomplete) {
+                step.violation("thread " + index + " saw " + seen + " incomplete, expected " + incomplete);
+            }
+            int count = step.service.getStatistics().getCategoryCount(category.getId());
+            if (count != owned.size()) {
+                step.violation("thread " + index + " saw " + count + " tasks, expected " + owned.size());
+            }
+        }
+
+        private void checkPage() {
+            int offset = random.nextInt(Math.max(1, step.baseCount));
+            TaskPage page = step.service.getTasksPage(null, Task.SortCriteria.DEADLINE_ASC, offset, 20);
+            List<Task> tasks = page.getTasks();
+            for (int i = 1; i < tasks.size(); i++) {
+                if (tasks.get(i - 1).getDeadline().after(tasks.get(i).getDeadline())) {
+                    step.violation("page at " + offset + " out of order");
+                    return;
+                }
+            }
+        }
+
+        private void checkStatistics() {
+            TaskStatistics statistics = step.service.getStatistics();
+            int byCategory = statistics.getCategoryCounts().values().stream().mapToInt(Integer::intValue).sum();
+            int byImportance = statistics.getImportanceCounts().values().stream().mapToInt(Integer::intValue).sum();
+            if (byCategory != statistics.getTotal() || byImportance != statistics.getTotal()
+                    || statistics.getIncomplete() > statistics.getTotal()) {
+                step.violation("inconsistent statistics " + statistics);
+            }
+        }
+    }
+}
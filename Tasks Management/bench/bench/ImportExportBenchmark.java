@@ -0,0 +1,99 @@
+package bench;
+
+import models.Task;
+import services.CategoryServiceImpl;
+import services.ImportResult;
+import services.TaskExporter;
+import services.TaskImporter;
+import services.TaskServiceImpl;
+import storage.TaskFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+
+// Exports tasks to CSV and JSON Lines, appends a few malformed lines, imports each file
+// into an empty service and checks that every task came back in order with the same
+// fields and that exactly the malformed lines were skipped.
+// Usage: ImportExportBenchmark [taskCount] [parsers]
+public class ImportExportBenchmark {
+    private static final String[] MALFORMED_CSV = {
+            "1,\"unterminated,Work,2025-01-01T00:00:00Z,IMPORTANT_URGENT,false",
+            "2,\"no deadline\",Work,,IMPORTANT_URGENT,false",
+            "3,\"bad level\",Work,2025-01-01T00:00:00Z,VERY_URGENT,false",
+    };
+    private static final String[] MALFORMED_JSON = {
+            "{\"description\":\"missing category\",\"deadline\":\"2025-01-01T00:00:00Z\",\"importance\":\"IMPORTANT_URGENT\"}",
+            "{\"description\":\"nested\",\"category\":{\"title\":\"Work\"}}",
+            "not json",
+    };
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = TaskFixtures.intArg(args, 0, 1_000_000);
+        int parsers = TaskFixtures.intArg(args, 1, Runtime.getRuntime().availableProcessors());
+
+        CategoryServiceImpl categoryService = new CategoryServiceImpl();
+        TaskServiceImpl source = new TaskServiceImpl(categoryService);
+        source.addTasks(TaskFixtures.randomTasks(taskCount, 1000, 42, categoryService.getAllCategories()));
+        Task tricky = new Task(source.reserveTaskIds(1), "Say \"hi\", then\nleave \\ go", categoryService.getAllCategories().get(0),
+                new Date(1_735_000_000_123L), Task.ImportanceLevel.NOT_IMPORTANT_URGENT);
+        source.addTask(tricky);
+        List<Task> expected = source.getAllTasks();
+
+        Path directory = Files.createTempDirectory("task-import");
+        System.out.printf("%d tasks, %d parsers, %d cores available%n",
+                expected.size(), parsers, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-11s %10s %10s %12s %12s%n", "format", "MB", "export ms", "import ms", "tasks/s");
+        run(TaskFormat.CSV, directory.resolve("tasks.csv"), source, expected, parsers, MALFORMED_CSV);
+        run(TaskFormat.JSON_LINES, directory.resolve("tasks.jsonl"), source, expected, parsers, MALFORMED_JSON);
+    }
+
+    private static void run(TaskFormat format, Path file, TaskServiceImpl source, List<Task> expected,
+                            int parsers, String[] malformed) throws IOException {
+        long start = System.nanoTime();
+        new TaskExporter(source).exportTo(file);
+        long exportNanos = System.nanoTime() - start;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+            for (String line : malformed) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+
+        CategoryServiceImpl categoryService = new CategoryServiceImpl();
+        TaskServiceImpl target = new TaskServiceImpl(categoryService);
+        int defaults = target.getTotalTaskCount();
+        start = System.nanoTime();
+        ImportResult result = new TaskImporter(target, categoryService, parsers).importFrom(file);
+        long importNanos = System.nanoTime() - start;
+
+        List<Task> imported = target.getAllTasks();
+        imported = imported.subList(defaults, imported.size());
+        if (result.getImported() != expected.size() || imported.size() != expected.size()) {
+            throw new IllegalStateException(format + ": imported " + result.getImported() + " of " + expected.size());
+        }
+        if (result.getRejected() != malformed.length) {
+            throw new IllegalStateException(format + ": rejected " + result.getErrors());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Task a = expected.get(i);
+            Task b = imported.get(i);
+            String expectedDescription = format == TaskFormat.CSV ? a.getDescription().replace('\n', ' ') : a.getDescription();
+            if (!expectedDescription.equals(b.getDescription())
+                    || !a.getCategory().getTitle().equals(b.getCategory().getTitle())
+                    || a.getDeadline().getTime() != b.getDeadline().getTime()
+                    || a.getImportance() != b.getImportance()
+                    || a.isCompleted() != b.isCompleted()) {
+                throw new IllegalStateException(format + ": task " + i + " differs after the round trip");
+            }
+        }
+        System.out.printf("%-11s %10.1f %10.1f %12.1f %12.0f%n", format, Files.size(file) / 1e6,
+                exportNanos / 1e6, importNanos / 1e6, expected.size() * 1e9 / importNanos);
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,90 @@
+package bench;
+
+import models.Category;
+import models.Task;
+import services.CategoryServiceImpl;
+import services.ConcurrentTaskService;
+import services.TaskServiceImpl;
+import storage.CategoryJournal;
+import storage.TaskJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Measures append throughput and cold-start replay time of the task journal, and the
+// first statistics read after startup through a ConcurrentTaskService.
+// Usage: JournalStartupBenchmark [taskCount] [journalTail]
+public class JournalStartupBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = TaskFixtures.intArg(args, 0, 1_000_000);
+        int journalTail = TaskFixtures.intArg(args, 1, 50_000);
+        Path dir = Files.createTempDirectory("todo-journal-bench");
+        try {
+            List<Task> generated = TaskFixtures.randomTasks(taskCount, 100, 42, TaskFixtures.categories());
+
+            // Populate: everything but the tail lands in a snapshot, the tail stays in the journal
+            try (CategoryJournal categoryJournal = new CategoryJournal(dir)) {
+                CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryJournal);
+                TaskJournal taskJournal = newTaskJournal(dir, categoryService);
+                TaskServiceImpl service = new TaskServiceImpl(categoryService, taskJournal);
+
+                long start = System.nanoTime();
+                int snapshotAt = taskCount - journalTail;
+                for (int i = 0; i < taskCount; i++) {
+                    service.addTask(generated.get(i));
+                    if (i + 1 == snapshotAt) {
+                        taskJournal.writeSnapshot(service.getAllTasks(), service.getTotalTaskCount());
+                    }
+                }
+                taskJournal.sync();
+                report("append " + taskCount + " tasks", start, taskCount);
+                taskJournal.close();
+            }
+
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                try (CategoryJournal categoryJournal = new CategoryJournal(dir)) {
+                    CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryJournal);
+                    try (TaskJournal taskJournal = newTaskJournal(dir, categoryService)) {
+                        TaskServiceImpl service = new TaskServiceImpl(categoryService, taskJournal);
+                        long elapsed = System.nanoTime() - start;
+                        System.out.printf("startup run %d: %d tasks (%d from journal tail) in %.1f ms%n",
+                                run, service.getTotalTaskCount(), journalTail, elapsed / 1e6);
+                        start = System.nanoTime();
+                        int incomplete = new ConcurrentTaskService(service).getStatistics().getIncomplete();
+                        System.out.printf("  first getStatistics: %d incomplete in %.1f ms%n",
+                                incomplete, (System.nanoTime() - start) / 1e6);
+                    }
+                }
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static TaskJournal newTaskJournal(Path dir, CategoryServiceImpl categoryService) throws IOException {
+        Map<Integer, Category> categoriesById = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoriesById.put(category.getId(), category);
+        }
+        return new TaskJournal(dir, categoriesById::get, 50, Integer.MAX_VALUE);
+    }
+
+    private static void report(String label, long startNanos, int operations) {
+        long elapsed = System.nanoTime() - startNanos;
+        System.out.printf("%s: %.1f ms (%.0f ops/s)%n", label, elapsed / 1e6, operations / (elapsed / 1e9));
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import models.SearchCriteria;
+import models.Task;
+import services.CategoryServiceImpl;
+import services.TaskServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keyword search latency through the inverted index versus the previous full scan.
+// Usage: KeywordSearchBenchmark [taskCount]
+public class KeywordSearchBenchmark {
+    private static final String[] QUERIES = {"#4242", "groceries #1", "view pro", "deploy", "ud", "zzz"};
+
+    public static void main(String[] args) {
+        int taskCount = TaskFixtures.intArg(args, 0, 1_000_000);
+        CategoryServiceImpl categoryService = new CategoryServiceImpl();
+        TaskServiceImpl service = new TaskServiceImpl(categoryService);
+        for (Task task : TaskFixtures.randomTasks(taskCount, 100, 42, categoryService.getAllCategories())) {
+            service.addTask(task);
+        }
+        List<Task> all = service.getAllTasks();
+
+        long start = System.nanoTime();
+        service.advancedSearch(new SearchCriteria.Builder().withKeyword("warmup").build());
+        System.out.printf("index build (first keyword search) over %d tasks: %.1f ms%n",
+                service.getTotalTaskCount(), (System.nanoTime() - start) / 1e6);
+
+        for (String query : QUERIES) {
+            SearchCriteria criteria = new SearchCriteria.Builder().withKeyword(query).build();
+            int indexed = 0;
+            int scanned = 0;
+            long indexNanos = Long.MAX_VALUE;
+            long scanNanos = Long.MAX_VALUE;
+            for (int run = 0; run < 5; run++) {
+                start = System.nanoTime();
+                indexed = service.advancedSearch(criteria).size();
+                indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                scanned = scan(all, query).size();
+                scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+            }
+            if (indexed != scanned) {
+                throw new IllegalStateException("Index returned " + indexed + " matches, scan " + scanned);
+            }
+            System.out.printf("%-14s %7d matches  index %8.3f ms  scan %8.3f ms%n",
+                    "'" + query + "'", indexed, indexNanos / 1e6, scanNanos / 1e6);
+        }
+    }
+
+    // The previous matchesCriteria keyword check, without its console tracing
+    private static List<Task> scan(List<Task> tasks, String keyword) {
+        List<Task> results = new ArrayList<>();
+        String pattern = keyword.toLowerCase();
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase().contains(pattern)) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import models.Category;
+import models.Task;
+import models.TaskArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// TaskArray.parallelSort on pools of 1, 2, 4, ... workers up to the core count (or the
+// given maximum), reporting speedup over one worker and over the sequential key sort.
+// Usage: ParallelSortBenchmark [taskCount] [maxWorkers]
+public class ParallelSortBenchmark {
+    public static void main(String[] args) {
+        int taskCount = TaskFixtures.intArg(args, 0, 2_000_000);
+        int maxWorkers = TaskFixtures.intArg(args, 1, Runtime.getRuntime().availableProcessors());
+        List<Category> categories = TaskFixtures.categories();
+        List<Task> input = new ArrayList<>(TaskFixtures.randomTasks(taskCount, 42, categories));
+
+        System.out.printf("%d tasks, %d cores available%n", taskCount, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-16s %8s %10s %12s %12s%n", "criteria", "workers", "ms", "vs 1 worker", "vs keys");
+        for (Task.SortCriteria criteria : Task.SortCriteria.values()) {
+            long sequential = time(input, criteria, null);
+            System.out.printf("%-16s %8s %10.1f %12s %12s%n", criteria, "keys", sequential / 1e6, "-", "1.00x");
+
+            long single = 0;
+            for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(workers);
+                try {
+                    long nanos = time(input, criteria, pool);
+                    if (workers == 1) {
+                        single = nanos;
+                    }
+                    System.out.printf("%-16s %8d %10.1f %11.2fx %11.2fx%n", criteria, workers, nanos / 1e6,
+                            (double) single / nanos, (double) sequential / nanos);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    // Best of three runs on fresh copies; a null pool times the sequential key sort
+    private static long time(List<Task> input, Task.SortCriteria criteria, ForkJoinPool pool) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            TaskArray array = new TaskArray();
+            for (Task task : input) {
+                array.add(task);
+            }
+            long start = System.nanoTime();
+            if (pool == null) {
+                array.sortByKeys(criteria);
+            } else {
+                array.parallelSort(criteria, pool);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+
+            List<Task> sorted = Arrays.asList(array.toArray());
+            int violation = SortReference.firstViolation(sorted, criteria);
+            if (violation >= 0) {
+                throw new IllegalStateException(criteria + " out of order at index " + violation);
+            }
+        }
+        return best;
+    }
+}
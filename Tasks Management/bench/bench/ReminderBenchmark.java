@@ -0,0 +1,126 @@
+package bench;
+
+import models.Task;
+import services.CategoryServiceImpl;
+import services.ConcurrentTaskService;
+import services.ReminderScheduler;
+import services.TaskService;
+import services.TaskServiceImpl;
+
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Loads tasks due over the next few seconds into a ReminderScheduler, reschedules and
+// completes some of them through updateTask while the timer runs, then checks that every
+// remaining task fired exactly once, in deadline order, and reports how late they fired.
+// Usage: ReminderBenchmark [taskCount] [updateCount]
+public class ReminderBenchmark {
+    private static final long START_DELAY_MILLIS = 12000; // covers adding the tasks and building the statistics index
+    private static final int SPREAD_MILLIS = 3000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int taskCount = TaskFixtures.intArg(args, 0, 1_000_000);
+        int updateCount = TaskFixtures.intArg(args, 1, 20_000);
+
+        CategoryServiceImpl categoryService = new CategoryServiceImpl();
+        // The timer thread looks tasks up while this thread updates them
+        TaskService service = new ConcurrentTaskService(new TaskServiceImpl(categoryService));
+        for (Task task : service.getAllTasks()) {
+            service.deleteTask(task.getId()); // the seeded defaults are long overdue
+        }
+        long base = System.currentTimeMillis() + START_DELAY_MILLIS;
+        Random random = new Random(42);
+        List<Task> tasks = TaskFixtures.randomTasks(taskCount, 1, 42, categoryService.getAllCategories());
+        for (Task task : tasks) {
+            task.setCompleted(false);
+            task.setDeadline(new Date(base + random.nextInt(SPREAD_MILLIS)));
+            service.addTask(task);
+        }
+
+        service.getStatistics(); // the home screen builds the index reminders load from
+
+        BitSet fired = new BitSet(taskCount + 1);
+        AtomicLong firedCount = new AtomicLong();
+        AtomicLong maxLateness = new AtomicLong();
+        AtomicLong lastDeadline = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong expected = new AtomicLong(taskCount);
+        ReminderScheduler scheduler = new ReminderScheduler(service, new ReminderScheduler.Listener() {
+            @Override
+            public void due(List<Task> due) {
+                record(due);
+            }
+
+            @Override
+            public void overdue(List<Task> overdue) {
+                record(overdue);
+            }
+
+            private void record(List<Task> batch) {
+                long now = System.currentTimeMillis();
+                for (Task task : batch) {
+                    long deadline = task.getDeadline().getTime();
+                    if (fired.get(task.getId()) || task.isCompleted() || deadline < lastDeadline.get()) {
+                        violations.incrementAndGet();
+                    }
+                    fired.set(task.getId());
+                    lastDeadline.set(deadline);
+                    maxLateness.accumulateAndGet(now - deadline, Math::max);
+                }
+                if (firedCount.addAndGet(batch.size()) >= expected.get()) {
+                    done.countDown();
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        scheduler.start();
+        System.out.printf("start returned in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+        while (scheduler.getPendingCount() + firedCount.get() < taskCount) { // loading on the timer thread
+            Thread.sleep(1);
+        }
+        System.out.printf("scheduled %d reminders in %.1f ms%n", scheduler.getPendingCount(), (System.nanoTime() - start) / 1e6);
+
+        // Half the updates move a deadline, half complete the task and so cancel its reminder
+        start = System.nanoTime();
+        int completed = 0;
+        for (int i = 0; i < updateCount; i++) {
+            int index = random.nextInt(taskCount);
+            if (tasks.get(index).isCompleted()) {
+                continue;
+            }
+            Task task = tasks.get(index).copy();
+            tasks.set(index, task);
+            if (i % 2 == 0) {
+                task.setDeadline(new Date(base + random.nextInt(SPREAD_MILLIS)));
+            } else {
+                task.setCompleted(true);
+                completed++;
+            }
+            service.updateTask(task);
+        }
+        long updateNanos = System.nanoTime() - start;
+        System.out.printf("%d updates (%d completions) in %.1f ms, %.2f us each%n",
+                updateCount, completed, updateNanos / 1e6, updateNanos / 1e3 / updateCount);
+        expected.set(taskCount - completed);
+        if (System.currentTimeMillis() > base) {
+            System.out.println("warning: setup ran past the first deadline; increase START_DELAY_MILLIS");
+        }
+
+        if (firedCount.get() >= expected.get()) {
+            done.countDown();
+        }
+        done.await();
+        scheduler.shutdown();
+        System.out.printf("fired %d reminders, latest %d ms after its deadline, %d violations%n",
+                firedCount.get(), maxLateness.get(), violations.get());
+        if (violations.get() != 0 || firedCount.get() != expected.get()) {
+            System.exit(1);
+        }
+    }
+}
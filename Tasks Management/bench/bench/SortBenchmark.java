@@ -0,0 +1,108 @@
+package bench;
+
+import models.Category;
+import models.Task;
+import models.TaskArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// TaskArray's comparison sorts and its primitive-key sort for every Task.SortCriteria over
+// random, presorted, reverse-sorted and many-duplicate inputs, against Arrays.sort with the
+// equivalent comparator (which is also what List.sort does). Sizes grow by 10x from minSize to maxSize; an algorithm
+// whose projected time for the next size exceeds the budget is skipped from then on.
+// Usage: SortBenchmark [maxSize] [minSize] [budgetMillis]
+public class SortBenchmark {
+    enum Distribution { RANDOM, SORTED, REVERSED, DUPLICATES }
+
+    enum Mode { COMPARISON, KEYS, REFERENCE }
+
+    public static void main(String[] args) {
+        int maxSize = TaskFixtures.intArg(args, 0, 1_000_000);
+        int minSize = TaskFixtures.intArg(args, 1, 1_000);
+        long budgetNanos = TaskFixtures.intArg(args, 2, 10_000) * 1_000_000L;
+        List<Category> categories = TaskFixtures.categories();
+
+        System.out.printf("%-16s %-11s %10s %12s %12s %14s %10s%n",
+                "criteria", "input", "size", "compare ms", "keys ms", "Arrays.sort ms", "keys/ref");
+        for (Task.SortCriteria criteria : Task.SortCriteria.values()) {
+            for (Distribution distribution : Distribution.values()) {
+                boolean[] overBudget = new boolean[Mode.values().length];
+                for (int size = minSize; size <= maxSize; size *= 10) {
+                    Task[] input = input(distribution, criteria, size, categories);
+                    long[] nanos = new long[Mode.values().length];
+                    for (Mode mode : Mode.values()) {
+                        if (!overBudget[mode.ordinal()]) {
+                            nanos[mode.ordinal()] = time(input, criteria, mode);
+                            overBudget[mode.ordinal()] = nanos[mode.ordinal()] * 10 > budgetNanos;
+                        }
+                    }
+                    long keys = nanos[Mode.KEYS.ordinal()];
+                    long reference = nanos[Mode.REFERENCE.ordinal()];
+                    System.out.printf("%-16s %-11s %10d %12s %12s %14s %10s%n", criteria,
+                            distribution.name().toLowerCase(), size, millis(nanos[Mode.COMPARISON.ordinal()]),
+                            millis(keys), millis(reference),
+                            keys > 0 && reference > 0 ? String.format("%.2fx", (double) keys / reference) : "-");
+                }
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return nanos == 0 ? "skipped" : String.format("%.3f", nanos / 1e6);
+    }
+
+    private static Task[] input(Distribution distribution, Task.SortCriteria criteria, int size, List<Category> categories) {
+        List<Task> tasks;
+        if (distribution == Distribution.DUPLICATES) {
+            tasks = TaskFixtures.duplicateTasks(size, 16, size, categories);
+        } else {
+            tasks = new ArrayList<>(TaskFixtures.randomTasks(size, size, categories));
+            if (distribution != Distribution.RANDOM) {
+                tasks.sort(SortReference.order(criteria));
+            }
+            if (distribution == Distribution.REVERSED) {
+                Collections.reverse(tasks);
+            }
+        }
+        return tasks.toArray(new Task[0]);
+    }
+
+    // Best of a few runs, each on a fresh copy of the input; the result is checked once
+    private static long time(Task[] input, Task.SortCriteria criteria, Mode mode) {
+        int runs = input.length >= 1_000_000 ? 1 : input.length >= 100_000 ? 3 : 10;
+        long best = Long.MAX_VALUE;
+        List<Task> sorted = null;
+        for (int run = 0; run < runs; run++) {
+            long nanos;
+            if (mode == Mode.REFERENCE) {
+                Task[] copy = input.clone();
+                long start = System.nanoTime();
+                Arrays.sort(copy, SortReference.order(criteria));
+                nanos = System.nanoTime() - start;
+                sorted = Arrays.asList(copy);
+            } else {
+                TaskArray array = new TaskArray();
+                for (Task task : input) {
+                    array.add(task);
+                }
+                long start = System.nanoTime();
+                if (mode == Mode.KEYS) {
+                    array.sortByKeys(criteria);
+                } else {
+                    array.sortByComparison(criteria);
+                }
+                nanos = System.nanoTime() - start;
+                sorted = Arrays.asList(array.toArray());
+            }
+            best = Math.min(best, nanos);
+        }
+        int violation = SortReference.firstViolation(sorted, criteria);
+        if (violation >= 0) {
+            throw new IllegalStateException(mode + " left " + criteria + " out of order at index " + violation);
+        }
+        return Math.max(best, 1);
+    }
+}
@@ -0,0 +1,136 @@
+package bench;
+
+import models.Category;
+import models.Task;
+import models.TaskArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Randomized check of every TaskArray sort path against SortReference: for every criteria
+// and many random sizes and input shapes, the output must be a permutation of the input in
+// the reference order, and identical to a stable reference sort where the sort is stable.
+// Usage: SortPropertyCheck [trials] [seed]
+public class SortPropertyCheck {
+    enum Path { COMPARISON, KEYS, PARALLEL }
+
+    // Four workers whatever the machine, so the parallel splits are always exercised
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    public static void main(String[] args) {
+        int trials = TaskFixtures.intArg(args, 0, 2_000);
+        Random random = new Random(TaskFixtures.intArg(args, 1, 2024));
+        List<Category> categories = TaskFixtures.categories();
+
+        for (int trial = 0; trial < trials; trial++) {
+            // Every 50th trial is large enough for the parallel sorts to split their work
+            int size = trial < 20 ? trial
+                    : trial % 50 == 49 ? 20_000 + random.nextInt(80_000)
+                    : random.nextInt(random.nextBoolean() ? 64 : 5_000);
+            List<Task> input;
+            switch (random.nextInt(4)) {
+                case 0:
+                    input = TaskFixtures.duplicateTasks(size, 1 + random.nextInt(8), random.nextLong(), categories);
+                    break;
+                case 1:
+                    input = awkwardNames(TaskFixtures.randomTasks(size, random.nextLong(), categories), random);
+                    break;
+                default:
+                    input = new ArrayList<>(TaskFixtures.randomTasks(size, random.nextLong(), categories));
+            }
+            for (Task.SortCriteria criteria : Task.SortCriteria.values()) {
+                List<Task> shaped = shape(input, criteria, random.nextInt(3));
+                for (Path path : Path.values()) {
+                    check(shaped, criteria, path, trial);
+                }
+            }
+        }
+        System.out.println("Comparison, key and parallel sorts agree with the reference order on " + trials + " trials per criteria");
+    }
+
+    // Short names built from pieces that stress the packed name keys: shared prefixes, empty
+    // names, embedded and trailing NULs, and chars above 0x7FFF
+    private static List<Task> awkwardNames(List<Task> tasks, Random random) {
+        String[] pieces = {"", "a", "\0", "ab", "abcd", "\uFFFF", "\u8000", "\u00e9", "z"};
+        for (Task task : tasks) {
+            StringBuilder name = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                name.append(pieces[random.nextInt(pieces.length)]);
+            }
+            task.setDescription(name.toString());
+        }
+        return new ArrayList<>(tasks);
+    }
+
+    // 0: as generated, 1: presorted, 2: reverse-sorted
+    private static List<Task> shape(List<Task> tasks, Task.SortCriteria criteria, int shape) {
+        List<Task> shaped = new ArrayList<>(tasks);
+        if (shape > 0) {
+            shaped.sort(SortReference.order(criteria));
+        }
+        if (shape == 2) {
+            Collections.reverse(shaped);
+        }
+        return shaped;
+    }
+
+    private static void check(List<Task> input, Task.SortCriteria criteria, Path path, int trial) {
+        TaskArray array = new TaskArray();
+        for (Task task : input) {
+            array.add(task);
+        }
+        switch (path) {
+            case COMPARISON:
+                array.sortByComparison(criteria);
+                break;
+            case KEYS:
+                array.sortByKeys(criteria);
+                break;
+            case PARALLEL:
+                array.parallelSort(criteria, POOL);
+                break;
+        }
+        List<Task> actual = Arrays.asList(array.toArray());
+
+        List<Task> expected = new ArrayList<>(input);
+        expected.sort(SortReference.order(criteria));
+
+        String context = criteria + " " + path + " (trial " + trial + ", size " + input.size() + ")";
+        if (actual.size() != expected.size()) {
+            throw new AssertionError(context + ": expected " + expected.size() + " tasks, got " + actual.size());
+        }
+        if (!sameElements(actual, expected)) {
+            throw new AssertionError(context + ": output is not a permutation of the input");
+        }
+        Comparator<Task> order = SortReference.order(criteria);
+        for (int i = 0; i < actual.size(); i++) {
+            boolean matches = SortReference.isStable(criteria)
+                    ? actual.get(i) == expected.get(i)
+                    : order.compare(actual.get(i), expected.get(i)) == 0;
+            if (!matches) {
+                throw new AssertionError(context + ": mismatch at index " + i);
+            }
+        }
+    }
+
+    private static boolean sameElements(List<Task> a, List<Task> b) {
+        Map<Task, Integer> counts = new IdentityHashMap<>();
+        for (Task task : a) {
+            counts.merge(task, 1, Integer::sum);
+        }
+        for (Task task : b) {
+            Integer count = counts.get(task);
+            if (count == null) return false;
+            if (count == 1) counts.remove(task); else counts.put(task, count - 1);
+        }
+        return counts.isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package bench;
+
+import models.Task;
+
+import java.util.Comparator;
+import java.util.List;
+
+// The order each Task.SortCriteria is specified to produce, as plain comparators.
+// TaskArray.sort must agree with these on every key; ties may come out in any order
+// except for the name and importance sorts, which are stable.
+public final class SortReference {
+    private static final Comparator<Task> BY_NAME = Comparator.comparing(Task::getDescription);
+    private static final Comparator<Task> BY_DEADLINE = Comparator.comparing(Task::getDeadline);
+    private static final Comparator<Task> BY_IMPORTANCE = Comparator.comparingInt(task -> task.getImportance().ordinal());
+
+    private SortReference() {}
+
+    public static Comparator<Task> order(Task.SortCriteria criteria) {
+        switch (criteria) {
+            case NAME_ASC:
+                return BY_NAME;
+            case NAME_DESC:
+                return BY_NAME.reversed();
+            case DEADLINE_ASC:
+                return BY_DEADLINE;
+            case DEADLINE_DESC:
+                return BY_DEADLINE.reversed();
+            case IMPORTANCE_ASC:
+                return BY_IMPORTANCE.thenComparing(BY_DEADLINE);
+            case IMPORTANCE_DESC:
+                return BY_IMPORTANCE.reversed().thenComparing(BY_DEADLINE);
+            default:
+                throw new IllegalArgumentException("Unknown criteria: " + criteria);
+        }
+    }
+
+    public static boolean isStable(Task.SortCriteria criteria) {
+        return criteria != Task.SortCriteria.DEADLINE_ASC && criteria != Task.SortCriteria.DEADLINE_DESC;
+    }
+
+    // Index of the first element out of order, or -1 when the whole list is sorted
+    public static int firstViolation(List<Task> tasks, Task.SortCriteria criteria) {
+        Comparator<Task> order = order(criteria);
+        for (int i = 1; i < tasks.size(); i++) {
+            if (order.compare(tasks.get(i - 1), tasks.get(i)) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import models.Category;
+import models.Task;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic data shared by the benchmarks
+public final class TaskFixtures {
+    private static final String[] WORDS = {
+            "complete", "review", "project", "meeting", "groceries", "workout", "report",
+            "email", "call", "plan", "design", "fix", "deploy", "study", "read", "write",
+            "budget", "doctor", "invoice", "presentation", "backup", "clean", "schedule"
+    };
+    private static final long BASE_TIME = 1_735_000_000_000L; // Dec 2024
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+    private TaskFixtures() {}
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        String[] titles = {"Work", "Personal", "Study", "Health", "Shopping"};
+        for (int i = 0; i < titles.length; i++) {
+            categories.add(new Category(i + 1, titles[i]));
+        }
+        return categories;
+    }
+
+    public static List<Task> randomTasks(int count, long seed, List<Category> categories) {
+        return randomTasks(count, 1, seed, categories);
+    }
+
+    public static List<Task> randomTasks(int count, int firstId, long seed, List<Category> categories) {
+        Random random = new Random(seed);
+        Task.ImportanceLevel[] levels = Task.ImportanceLevel.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " #" + random.nextInt(100_000);
+            Task task = new Task(firstId + i, description,
+                    categories.get(random.nextInt(categories.size())),
+                    new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)),
+                    levels[random.nextInt(levels.length)]);
+            task.setCompleted(random.nextInt(4) == 0);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // Tasks drawn from only a few distinct descriptions, deadlines and importance levels
+    public static List<Task> duplicateTasks(int count, int distinct, long seed, List<Category> categories) {
+        Random random = new Random(seed);
+        Task.ImportanceLevel[] levels = Task.ImportanceLevel.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(distinct);
+            Task task = new Task(i + 1, WORDS[value % WORDS.length] + " #" + value,
+                    categories.get(random.nextInt(categories.size())),
+                    new Date(BASE_TIME + value * 3_600_000L),
+                    levels[random.nextInt(levels.length)]);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    public static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,147 @@
+package bench;
+
+import models.Task;
+import models.TaskQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Producers enqueue a fixed number of tasks between them while one consumer takes them
+// out in batches, comparing the lock-free TaskQueue against ConcurrentLinkedQueue and
+// the previous linked queue behind a lock. Checks that every task arrives exactly once
+// and in the order its producer enqueued it.
+// Usage: TaskQueueBenchmark [taskCount] [maxProducers]
+public class TaskQueueBenchmark {
+    private static final int BATCH = 256;
+
+    // The operations the benchmark needs, over each queue implementation
+    private interface Channel {
+        void put(Task task);
+
+        int drain(Consumer<Task> consumer, int limit);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int taskCount = TaskFixtures.intArg(args, 0, 2_000_000);
+        int maxProducers = TaskFixtures.intArg(args, 1, 32);
+        Task[] tasks = TaskFixtures.randomTasks(taskCount, 0, 42, TaskFixtures.categories()).toArray(new Task[0]);
+
+        System.out.printf("%d tasks, %d cores available%n", taskCount, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %10s %12s %12s %12s%n", "queue", "producers", "ms", "Mtasks/s", "vs locked");
+        for (int producers = 1; producers <= maxProducers; producers *= 2) {
+            long locked = time(tasks, producers, TaskQueueBenchmark::lockedLinked);
+            long concurrent = time(tasks, producers, TaskQueueBenchmark::concurrentLinked);
+            long lockFree = time(tasks, producers, TaskQueueBenchmark::taskQueue);
+            print("linked+lock", producers, taskCount, locked, locked);
+            print("CLQ", producers, taskCount, concurrent, locked);
+            print("TaskQueue", producers, taskCount, lockFree, locked);
+        }
+    }
+
+    private static void print(String name, int producers, int taskCount, long nanos, long baseline) {
+        System.out.printf("%-12s %10d %12.1f %12.2f %11.2fx%n", name, producers, nanos / 1e6,
+                taskCount * 1e3 / nanos, (double) baseline / nanos);
+    }
+
+    private static Channel taskQueue() {
+        TaskQueue queue = new TaskQueue();
+        return new Channel() {
+            public void put(Task task) { queue.enqueue(task); }
+
+            public int drain(Consumer<Task> consumer, int limit) { return queue.drain(consumer, limit); }
+        };
+    }
+
+    private static Channel concurrentLinked() {
+        ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+        return new Channel() {
+            public void put(Task task) { queue.offer(task); }
+
+            public int drain(Consumer<Task> consumer, int limit) {
+                int drained = 0;
+                Task task;
+                while (drained < limit && (task = queue.poll()) != null) {
+                    consumer.accept(task);
+                    drained++;
+                }
+                return drained;
+            }
+        };
+    }
+
+    private static Channel lockedLinked() {
+        LinkedTaskQueue queue = new LinkedTaskQueue();
+        return new Channel() {
+            public void put(Task task) {
+                synchronized (queue) {
+                    queue.enqueue(task);
+                }
+            }
+
+            public int drain(Consumer<Task> consumer, int limit) {
+                int drained = 0;
+                synchronized (queue) {
+                    while (drained < limit && !queue.isEmpty()) {
+                        consumer.accept(queue.dequeue());
+                        drained++;
+                    }
+                }
+                return drained;
+            }
+        };
+    }
+
+    // Best of three runs, each from the producers starting until the consumer has everything
+    private static long time(Task[] tasks, int producers, Supplier<Channel> factory) throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        int slice = (tasks.length + producers - 1) / producers;
+        for (int run = 0; run < 3; run++) {
+            Channel channel = factory.get();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int p = 0; p < producers; p++) {
+                int from = Math.min(p * slice, tasks.length);
+                int to = Math.min(from + slice, tasks.length);
+                Thread producer = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = from; i < to; i++) {
+                        channel.put(tasks[i]);
+                    }
+                }, "producer-" + p);
+                producer.start();
+            }
+
+            // Ids are the task's index, so each producer's tasks must arrive with increasing ids
+            int[] lastSeen = new int[producers];
+            Arrays.fill(lastSeen, -1);
+            int[] received = {0};
+            Consumer<Task> check = task -> {
+                int producer = task.getId() / slice;
+                if (task.getId() <= lastSeen[producer]) {
+                    throw new IllegalStateException("Task " + task.getId() + " arrived out of order");
+                }
+                lastSeen[producer] = task.getId();
+                received[0]++;
+            };
+
+            long begin = System.nanoTime();
+            start.countDown();
+            while (received[0] < tasks.length) {
+                if (channel.drain(check, BATCH) == 0) {
+                    Thread.yield();
+                }
+            }
+            best = Math.min(best, System.nanoTime() - begin);
+            if (channel.drain(check, BATCH) != 0) {
+                throw new IllegalStateException("More tasks came out than went in");
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,84 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Keeps the first k tasks of a stream in the given order using a max-heap of size k:
+// each offer is O(log k) and anything after the current k-th task is rejected in O(1),
+// so taking the top k of n tasks costs O(n log k) instead of a full sort.
+// Ties are broken by id so that consecutive pages never overlap or skip a task.
+public class BoundedTaskHeap {
+    private final Task[] heap;
+    private final Comparator<Task> order;
+    private int size;
+
+    public BoundedTaskHeap(int capacity, Comparator<Task> order) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.heap = new Task[capacity];
+        this.order = order.thenComparingInt(Task::getId);
+    }
+
+    public void offer(Task task) {
+        if (size < heap.length) {
+            heap[size] = task;
+            siftUp(size++);
+        } else if (size > 0 && order.compare(task, heap[0]) < 0) {
+            heap[0] = task; // replaces the last of the current k
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The kept tasks in order, skipping the first "from"; empties the heap
+    public List<Task> drainSorted(int from) {
+        Task[] sorted = new Task[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--size];
+            heap[size] = null;
+            siftDown(0);
+        }
+        List<Task> result = new ArrayList<>(Math.max(0, sorted.length - from));
+        for (int i = from; i < sorted.length; i++) {
+            result.add(sorted[i]);
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        Task task = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(heap[parent], task) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = task;
+    }
+
+    private void siftDown(int index) {
+        if (size == 0) return;
+        Task task = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(task, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = task;
+    }
+}
@@ -0,0 +1,142 @@
+package models;
+
+import java.util.Arrays;
+
+// Task ids in deadline order in an indexed binary min-heap: the heap position of every id
+// is tracked in an IntIntHashMap, so scheduling, rescheduling and cancelling a task are all
+// O(log n) without searching for it, and the next due id is O(1). Only ids and deadlines
+// are kept, not the tasks; call schedule again after a deadline changes. Ties go to the
+// lower id. Entries live in parallel arrays, so millions of them cost no per-task objects,
+// and scheduling in deadline order never sifts.
+public class DeadlineHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] deadlines;
+    private int[] ids;
+    private final IntIntHashMap positions; // id -> index in the arrays
+    private int size;
+
+    public DeadlineHeap() {
+        deadlines = new long[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        positions = new IntIntHashMap();
+    }
+
+    // Adds the id, or moves it when already scheduled
+    public void schedule(int id, long deadline) {
+        int position = positions.get(id);
+        if (position == IntIntHashMap.MISSING) {
+            if (size == ids.length) {
+                grow();
+            }
+            set(size, deadline, id);
+            siftUp(size++);
+        } else {
+            long previous = deadlines[position];
+            set(position, deadline, id);
+            if (deadline < previous) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+        }
+    }
+
+    // Returns whether the id was scheduled
+    public boolean cancel(int id) {
+        int position = positions.remove(id);
+        if (position == IntIntHashMap.MISSING) {
+            return false;
+        }
+        size--;
+        if (position != size) {
+            // Move the last entry into the hole and let it settle either way
+            set(position, deadlines[size], ids[size]);
+            siftDown(position);
+            siftUp(position);
+        }
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return positions.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // The id with the earliest deadline, or -1 when empty
+    public int peek() {
+        return size == 0 ? -1 : ids[0];
+    }
+
+    // Deadline of peek() as scheduled, or Long.MAX_VALUE when empty
+    public long peekDeadline() {
+        return size == 0 ? Long.MAX_VALUE : deadlines[0];
+    }
+
+    // Removes and returns the id with the earliest deadline, or -1 when empty
+    public int poll() {
+        int first = peek();
+        if (first != -1) {
+            cancel(first);
+        }
+        return first;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(position, parent)) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(child + 1, child)) {
+                child++;
+            }
+            if (!before(child, position)) {
+                break;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return deadlines[a] != deadlines[b] ? deadlines[a] < deadlines[b] : ids[a] < ids[b];
+    }
+
+    private void swap(int a, int b) {
+        long deadline = deadlines[a];
+        int id = ids[a];
+        set(a, deadlines[b], ids[b]);
+        set(b, deadline, id);
+    }
+
+    private void set(int position, long deadline, int id) {
+        deadlines[position] = deadline;
+        ids[position] = id;
+        positions.put(id, position);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+    }
+}
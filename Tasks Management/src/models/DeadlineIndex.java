@@ -0,0 +1,111 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Tasks ordered by (deadline, id). Window and overdue queries cost O(log n + k), counts
+// O(log n), and deadline-ordered listings come straight from an in-order walk.
+public class DeadlineIndex {
+    private static class Entry {
+        final long deadline;
+        final int id;
+        Task task;
+
+        Entry(long deadline, int id, Task task) {
+            this.deadline = deadline;
+            this.id = id;
+            this.task = task;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        int comparison = Long.compare(a.deadline, b.deadline);
+        return comparison != 0 ? comparison : Integer.compare(a.id, b.id);
+    };
+
+    private final OrderStatisticTree<Entry> tree;
+    private final Map<Integer, Entry> entries; // id -> entry as indexed
+
+    public DeadlineIndex() {
+        tree = new OrderStatisticTree<>(ORDER);
+        entries = new HashMap<>();
+    }
+
+    public void add(Task task) {
+        Entry entry = new Entry(task.getDeadline().getTime(), task.getId(), task);
+        entries.put(task.getId(), entry);
+        tree.add(entry);
+    }
+
+    public void remove(int id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            tree.remove(entry);
+        }
+    }
+
+    // Moves the task only when its deadline changed
+    public void update(Task task) {
+        Entry entry = entries.get(task.getId());
+        if (entry != null && entry.deadline == task.getDeadline().getTime()) {
+            entry.task = task;
+            return;
+        }
+        remove(task.getId());
+        add(task);
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    // Tasks due strictly after start and strictly before end, in deadline order
+    public List<Task> between(long startExclusive, long endExclusive) {
+        List<Task> result = new ArrayList<>();
+        Iterator<Entry> iterator = tree.iterator(firstRankAfter(startExclusive));
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.deadline >= endExclusive) break;
+            result.add(entry.task);
+        }
+        return result;
+    }
+
+    public int countBetween(long startExclusive, long endExclusive) {
+        if (endExclusive <= startExclusive) return 0;
+        return Math.max(0, firstRankAtOrAfter(endExclusive) - firstRankAfter(startExclusive));
+    }
+
+    // Tasks due strictly before the given time
+    public List<Task> before(long endExclusive) {
+        return between(Long.MIN_VALUE, endExclusive);
+    }
+
+    public Iterator<Task> iterator(boolean ascending) {
+        Iterator<Entry> entryIterator = ascending ? tree.iterator(0) : tree.descendingIterator(tree.size() - 1);
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                return entryIterator.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                return entryIterator.next().task;
+            }
+        };
+    }
+
+    private int firstRankAfter(long time) {
+        if (time == Long.MAX_VALUE) return tree.size();
+        return tree.rankOf(new Entry(time + 1, Integer.MIN_VALUE, null));
+    }
+
+    private int firstRankAtOrAfter(long time) {
+        return tree.rankOf(new Entry(time, Integer.MIN_VALUE, null));
+    }
+}
@@ -0,0 +1,118 @@
+package models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Bitmaps of task ids per category, per importance level and per completion state.
+// Criteria combinations are answered by intersecting them, and their cardinalities
+// double as the counts the UI shows and the query planner uses for estimates.
+public class FilterIndex {
+    private final Map<Integer, RoaringBitmap> byCategory;
+    private final RoaringBitmap[] byImportance;
+    private final RoaringBitmap completed;
+    private final RoaringBitmap incomplete;
+    private final RoaringBitmap all;
+    private final Map<Integer, Long> indexedKeys; // id -> (categoryId, importance, completed) as indexed
+
+    public FilterIndex() {
+        byCategory = new HashMap<>();
+        byImportance = new RoaringBitmap[Task.ImportanceLevel.values().length];
+        for (int i = 0; i < byImportance.length; i++) {
+            byImportance[i] = new RoaringBitmap();
+        }
+        completed = new RoaringBitmap();
+        incomplete = new RoaringBitmap();
+        all = new RoaringBitmap();
+        indexedKeys = new HashMap<>();
+    }
+
+    public void add(Task task) {
+        int id = task.getId();
+        long key = key(task);
+        indexedKeys.put(id, key);
+        byCategory.computeIfAbsent(categoryOf(key), categoryId -> new RoaringBitmap()).add(id);
+        byImportance[importanceOf(key)].add(id);
+        (completedOf(key) ? completed : incomplete).add(id);
+        all.add(id);
+    }
+
+    public void remove(int id) {
+        Long key = indexedKeys.remove(id);
+        if (key == null) return;
+        RoaringBitmap category = byCategory.get(categoryOf(key));
+        if (category != null) {
+            category.remove(id);
+        }
+        byImportance[importanceOf(key)].remove(id);
+        (completedOf(key) ? completed : incomplete).remove(id);
+        all.remove(id);
+    }
+
+    // Re-index only when the category, importance or completion state changed
+    public void update(Task task) {
+        Long key = indexedKeys.get(task.getId());
+        if (key != null && key == key(task)) {
+            return;
+        }
+        remove(task.getId());
+        add(task);
+    }
+
+    public RoaringBitmap category(int categoryId) {
+        RoaringBitmap ids = byCategory.get(categoryId);
+        return ids == null ? new RoaringBitmap() : ids;
+    }
+
+    public RoaringBitmap importance(Task.ImportanceLevel level) {
+        return byImportance[level.ordinal()];
+    }
+
+    public RoaringBitmap completion(boolean isCompleted) {
+        return isCompleted ? completed : incomplete;
+    }
+
+    // Ids satisfying every non-null filter; null means the filter is not set
+    public RoaringBitmap match(Integer categoryId, Task.ImportanceLevel importance, Boolean isCompleted) {
+        RoaringBitmap result = null;
+        if (categoryId != null) {
+            result = category(categoryId);
+        }
+        if (importance != null) {
+            result = result == null ? importance(importance) : result.and(importance(importance));
+        }
+        if (isCompleted != null) {
+            result = result == null ? completion(isCompleted) : result.and(completion(isCompleted));
+        }
+        return result == null ? all : result;
+    }
+
+    public int countCategory(int categoryId) {
+        return category(categoryId).cardinality();
+    }
+
+    public int countImportance(Task.ImportanceLevel level) {
+        return importance(level).cardinality();
+    }
+
+    public int countCompletion(boolean isCompleted) {
+        return completion(isCompleted).cardinality();
+    }
+
+    private static long key(Task task) {
+        return ((long) task.getCategory().getId() << 16)
+                | (task.getImportance().ordinal() << 1)
+                | (task.isCompleted() ? 1 : 0);
+    }
+
+    private static int categoryOf(long key) {
+        return (int) (key >> 16);
+    }
+
+    private static int importanceOf(long key) {
+        return (int) ((key >> 1) & 0x7FFF);
+    }
+
+    private static boolean completedOf(long key) {
+        return (key & 1) != 0;
+    }
+}
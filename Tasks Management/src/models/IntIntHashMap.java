@@ -0,0 +1,136 @@
+package models;
+
+import java.util.Arrays;
+
+// Open-addressing int -> int map with linear probing; avoids boxing on hot id lookups.
+// Values must be non-negative, -1 is returned for missing keys.
+public class IntIntHashMap {
+    public static final int MISSING = -1;
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    public int get(int key) {
+        checkKey(key);
+        int index = indexOf(key);
+        return index < 0 ? MISSING : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        checkKey(key);
+        return indexOf(key) >= 0;
+    }
+
+    // Returns the previous value or MISSING
+    public int put(int key, int value) {
+        checkKey(key);
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    // Returns the removed value or MISSING
+    public int remove(int key) {
+        checkKey(key);
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return MISSING;
+        }
+        int removed = values[slot];
+        size--;
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int indexOf(int key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void checkKey(int key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key not supported: " + key);
+        }
+    }
+}
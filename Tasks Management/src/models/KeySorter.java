@@ -0,0 +1,220 @@
+package models;
+
+import java.util.Arrays;
+
+// Sorts tasks through primitive keys instead of Task comparisons. Each task's sort key
+// is packed into a long once, and an int[] permutation is radix-sorted by those keys,
+// so the passes stream over flat arrays instead of chasing Task, Date and String
+// pointers on every comparison.
+//  - deadlines: the epoch millis with the sign bit flipped, so unsigned byte order is numeric order
+//  - importance: a deadline pass followed by a pass on the level's rank (LSD, so both stable)
+//  - names: 4 UTF-16 chars per key, MSD over the string; equal-key runs are refined with
+//    the next 4 chars, and runs that are small or exhausted fall back to String.compareTo
+// Every pass is stable, which keeps the name and importance sorts stable like the
+// comparison sorts in TaskArray.
+final class KeySorter {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+    private static final int CHARS_PER_KEY = 4;
+    private static final int SMALL_RUN = 32;
+
+    private final Task[] tasks;
+    private final int offset;         // first task of the range being sorted
+    private final int size;
+    private final long[] keys;        // keys[i] belongs to the task at order[i]
+    private final long[] keyBuffer;
+    private final int[] order;
+    private final int[] orderBuffer;
+    private final int[] histograms;   // one 256-bucket histogram per byte, reused across passes
+    private String[] names;
+    private boolean descending;
+
+    private KeySorter(Task[] tasks, int offset, int size) {
+        this.tasks = tasks;
+        this.offset = offset;
+        this.size = size;
+        keys = new long[size];
+        keyBuffer = new long[size];
+        order = new int[size];
+        orderBuffer = new int[size];
+        histograms = new int[PASSES * BUCKETS];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+    }
+
+    // Sorted order of tasks[from, to): result[i] is the offset from "from" of the task that belongs at i
+    static int[] sortedOrder(Task[] tasks, int from, int to, Task.SortCriteria criteria) {
+        KeySorter sorter = new KeySorter(tasks, from, to - from);
+        switch (criteria) {
+            case NAME_ASC:
+            case NAME_DESC:
+                sorter.sortByName(criteria == Task.SortCriteria.NAME_DESC);
+                break;
+            case DEADLINE_ASC:
+            case DEADLINE_DESC:
+                sorter.sortByDeadline(criteria == Task.SortCriteria.DEADLINE_DESC);
+                break;
+            case IMPORTANCE_ASC:
+            case IMPORTANCE_DESC:
+                sorter.sortByImportance(criteria == Task.SortCriteria.IMPORTANCE_DESC);
+                break;
+        }
+        return sorter.order;
+    }
+
+    private void sortByDeadline(boolean descending) {
+        for (int i = 0; i < size; i++) {
+            long key = deadlineKey(tasks[offset + i]);
+            keys[i] = descending ? ~key : key;
+        }
+        radixSort(0, size);
+    }
+
+    // Deadline ascending within each importance level, as the counting sort does
+    private void sortByImportance(boolean descending) {
+        sortByDeadline(false);
+        int levels = Task.ImportanceLevel.values().length;
+        for (int i = 0; i < size; i++) {
+            int ordinal = tasks[offset + order[i]].getImportance().ordinal();
+            keys[i] = descending ? levels - 1 - ordinal : ordinal;
+        }
+        radixSort(0, size);
+    }
+
+    private void sortByName(boolean descending) {
+        this.descending = descending;
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = tasks[offset + i].getDescription();
+        }
+        sortNames(0, size, 0);
+    }
+
+    // Sort order[from, to), whose names already agree on their first offset chars
+    private void sortNames(int from, int to, int offset) {
+        if (to - from <= SMALL_RUN) {
+            sortByFullName(from, to);
+            return;
+        }
+
+        boolean continues = false;
+        for (int i = from; i < to; i++) {
+            String name = names[order[i]];
+            long key = nameChunk(name, offset);
+            keys[i] = descending ? ~key : key;
+            continues |= name.length() > offset + CHARS_PER_KEY;
+        }
+        radixSort(from, to);
+        if (!continues) {
+            // Every name ended inside this chunk; only padding ties (such as "a" and "a\0") remain
+            sortByFullName(from, to);
+            return;
+        }
+
+        // Refine each run of equal chunks with the next one
+        int runStart = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i == to || keys[i] != keys[runStart]) {
+                if (i - runStart > 1) {
+                    sortNames(runStart, i, offset + CHARS_PER_KEY);
+                }
+                runStart = i;
+            }
+        }
+    }
+
+    // Stable merge sort of order[from, to) by String.compareTo, insertion sort for short ranges
+    private void sortByFullName(int from, int to) {
+        if (to - from <= SMALL_RUN) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && compareNames(order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        sortByFullName(from, mid);
+        sortByFullName(mid, to);
+        if (compareNames(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, orderBuffer, from, to - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            order[k++] = compareNames(orderBuffer[i], orderBuffer[j]) <= 0 ? orderBuffer[i++] : orderBuffer[j++];
+        }
+        while (i < mid) {
+            order[k++] = orderBuffer[i++];
+        }
+        while (j < to) {
+            order[k++] = orderBuffer[j++];
+        }
+    }
+
+    private int compareNames(int a, int b) {
+        int comparison = names[a].compareTo(names[b]);
+        return descending ? -comparison : comparison;
+    }
+
+    // Stable LSD radix sort of keys[from, to) (as unsigned longs), carrying order along.
+    // All byte histograms come from one read pass, and bytes shared by every key are skipped.
+    private void radixSort(int from, int to) {
+        int length = to - from;
+        if (length < 2) return;
+        Arrays.fill(histograms, 0);
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                histograms[pass * BUCKETS + (int) ((key >>> (pass * RADIX_BITS)) & (BUCKETS - 1))]++;
+            }
+        }
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * BUCKETS;
+            int shift = pass * RADIX_BITS;
+            if (histograms[base + (int) ((keys[from] >>> shift) & (BUCKETS - 1))] == length) {
+                continue; // every key has the same byte here
+            }
+
+            // Turn counts into starting positions
+            int position = from;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                int count = histograms[base + bucket];
+                histograms[base + bucket] = position;
+                position += count;
+            }
+
+            for (int i = from; i < to; i++) {
+                int target = histograms[base + (int) ((keys[i] >>> shift) & (BUCKETS - 1))]++;
+                keyBuffer[target] = keys[i];
+                orderBuffer[target] = order[i];
+            }
+            System.arraycopy(keyBuffer, from, keys, from, length);
+            System.arraycopy(orderBuffer, from, order, from, length);
+        }
+    }
+
+    private static long deadlineKey(Task task) {
+        return task.getDeadline().getTime() ^ Long.MIN_VALUE;
+    }
+
+    // Chars [offset, offset + 4) packed big-endian, zero-padded past the end of the name
+    private static long nameChunk(String name, int offset) {
+        long key = 0;
+        for (int k = 0; k < CHARS_PER_KEY; k++) {
+            int index = offset + k;
+            key = (key << Character.SIZE) | (index < name.length() ? name.charAt(index) : 0);
+        }
+        return key;
+    }
+}
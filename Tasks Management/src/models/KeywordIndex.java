@@ -0,0 +1,128 @@
+package models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Inverted trigram index over task descriptions for case-insensitive substring search.
+// A keyword of three or more characters can only occur in descriptions containing all
+// of its trigrams, so candidates come from intersecting those postings and are then
+// verified with String.contains. Shorter keywords are checked against the stored
+// lowercase text, which still skips lowercasing every description per query.
+public class KeywordIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, PostingList> postings;
+    private final Map<Integer, String> indexedText; // id -> lowercase description as indexed
+
+    public KeywordIndex() {
+        postings = new HashMap<>();
+        indexedText = new HashMap<>();
+    }
+
+    public void add(Task task) {
+        String text = task.getDescription().toLowerCase();
+        indexedText.put(task.getId(), text);
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            postings.computeIfAbsent(gramAt(text, i), gram -> new PostingList()).add(task.getId());
+        }
+    }
+
+    public void remove(int id) {
+        String text = indexedText.remove(id);
+        if (text == null) return;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            Long gram = gramAt(text, i);
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // Re-index only when the description actually changed
+    public void update(Task task) {
+        String text = indexedText.get(task.getId());
+        if (text != null && text.equals(task.getDescription().toLowerCase())) {
+            return;
+        }
+        remove(task.getId());
+        add(task);
+    }
+
+    public int size() {
+        return indexedText.size();
+    }
+
+    // Upper bound on the matches: the shortest trigram posting, or everything for short keywords
+    public int estimate(String keyword) {
+        String pattern = keyword.toLowerCase();
+        if (pattern.length() < GRAM) {
+            return indexedText.size();
+        }
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM <= pattern.length(); i++) {
+            PostingList list = postings.get(gramAt(pattern, i));
+            if (list == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, list.size());
+        }
+        return estimate;
+    }
+
+    // Ids (ascending) whose description contains the keyword, ignoring case
+    public int[] search(String keyword) {
+        String pattern = keyword.toLowerCase();
+        if (pattern.length() < GRAM) {
+            return scan(pattern);
+        }
+
+        // Intersect starting from the shortest posting list
+        PostingList[] lists = new PostingList[pattern.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(gramAt(pattern, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        int[] candidates = lists[0].toArray();
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                count = lists[i].retainAll(candidates, count);
+            }
+        }
+
+        // Trigrams may match out of order or apart, so confirm the substring
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (indexedText.get(candidates[i]).contains(pattern)) {
+                candidates[matches++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    private int[] scan(String pattern) {
+        int[] matches = new int[16];
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : indexedText.entrySet()) {
+            if (entry.getValue().contains(pattern)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = entry.getKey();
+            }
+        }
+        int[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static Long gramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+}
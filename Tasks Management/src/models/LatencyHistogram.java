@@ -0,0 +1,96 @@
+package models;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-linear latency histogram in the style of HdrHistogram: every power of two is split
+// into 64 linear sub-buckets, so any recorded value is reported within about 1.5% using a
+// fixed array of counters. Recording is lock-free and never allocates.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;   // exact values below this
+    private static final int HALF_BUCKETS = SUB_BUCKETS >> 1;       // sub-buckets per power of two above it
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalValue;
+    private final AtomicLong maxValue;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKET_COUNT);
+        totalCount = new AtomicLong();
+        totalValue = new AtomicLong();
+        maxValue = new AtomicLong();
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative: " + value);
+        }
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    // Smallest recorded bucket bound such that the given percentage of values are at or below it
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.set(0);
+        maxValue.set(0);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits: value >>> shift lands in [HALF_BUCKETS, SUB_BUCKETS)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_BUCKETS + (int) (value >>> shift) - HALF_BUCKETS;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_BUCKETS + 1;
+        long subBucket = (bucket - SUB_BUCKETS) % HALF_BUCKETS + HALF_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,247 @@
+package models;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+// Treap with subtree sizes: O(log n) expected insert, remove, rank and select, and
+// in-order iteration from any rank in O(log n + k). Elements must be unique under
+// the comparator.
+public class OrderStatisticTree<T> implements Iterable<T> {
+    private static class Node<T> {
+        final T value;
+        final int priority;
+        Node<T> left;
+        Node<T> right;
+        int size = 1;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Random random = new Random(0x5EED);
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public boolean add(T value) {
+        int before = size();
+        root = insert(root, new Node<>(value, random.nextInt()));
+        return size() != before;
+    }
+
+    public boolean remove(T value) {
+        int before = size();
+        root = delete(root, value);
+        return size() != before;
+    }
+
+    // Element at the given position in sorted order
+    public T get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank: " + rank);
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.value;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Number of elements strictly less than the key (its insertion position)
+    public int rankOf(T key) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    // Ascending iteration starting at the given rank
+    public Iterator<T> iterator(int fromRank) {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int rank = fromRank;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (rank == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new TreeIterator<>(stack, true);
+    }
+
+    // Descending iteration starting at the given rank and moving towards rank 0
+    public Iterator<T> descendingIterator(int fromRank) {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int rank = fromRank;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                stack.push(node);
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new TreeIterator<>(stack, false);
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        int cmp = comparator.compare(fresh.value, node.value);
+        if (cmp == 0) {
+            return node;
+        }
+        if (cmp < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static <T> int size(Node<T> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // In-order walk driven by an explicit stack of pending ancestors
+    private static class TreeIterator<T> implements Iterator<T> {
+        private final Deque<Node<T>> stack;
+        private final boolean ascending;
+
+        TreeIterator(Deque<Node<T>> stack, boolean ascending) {
+            this.stack = stack;
+            this.ascending = ascending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = stack.pop();
+            Node<T> child = ascending ? node.right : node.left;
+            while (child != null) {
+                stack.push(child);
+                child = ascending ? child.left : child.right;
+            }
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package models;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+// Fork-join sorts for large task arrays, producing the same order as the sequential
+// sorts in TaskArray:
+//  - names: merge sort whose leaves use the sequential key sort and whose merges split
+//    across the pool too; merges take the left element on ties, so the sort is stable
+//  - deadlines: sample sort; chunks bucket their tasks against sampled splitters in
+//    parallel, scatter them in chunk order, then each bucket is radix-sorted on its own.
+//    Both steps are stable.
+//  - importance: parallel counting sort into per-level buckets (chunks scatter in input
+//    order, so it is stable), then a sample sort by deadline within each level
+final class ParallelTaskSorter {
+    private static final int GRAIN = 1 << 13;       // below this a range is handled sequentially
+    private static final int LEAF = 1 << 16;        // merge sort leaves, large enough for the key sort to pay off
+    private static final int OVERSAMPLING = 32;
+    private static final int BUCKETS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final Task[] tasks;
+    private final int size;
+    private final Task[] buffer;
+
+    private ParallelTaskSorter(ForkJoinPool pool, Task[] tasks, int size) {
+        this.pool = pool;
+        this.tasks = tasks;
+        this.size = size;
+        this.buffer = new Task[size];
+    }
+
+    static void sort(ForkJoinPool pool, Task[] tasks, int size, Task.SortCriteria criteria) {
+        if (size < 2) return;
+        ParallelTaskSorter sorter = new ParallelTaskSorter(pool, tasks, size);
+        switch (criteria) {
+            case NAME_ASC:
+            case NAME_DESC:
+                sorter.mergeSort(criteria);
+                break;
+            case DEADLINE_ASC:
+            case DEADLINE_DESC:
+                sorter.sampleSortByDeadline(0, size, criteria == Task.SortCriteria.DEADLINE_DESC);
+                break;
+            case IMPORTANCE_ASC:
+            case IMPORTANCE_DESC:
+                sorter.countingSortByImportance(criteria == Task.SortCriteria.IMPORTANCE_DESC);
+                break;
+        }
+    }
+
+    private void mergeSort(Task.SortCriteria criteria) {
+        Comparator<Task> order = Comparator.comparing(Task::getDescription);
+        if (criteria == Task.SortCriteria.NAME_DESC) {
+            order = order.reversed();
+        }
+        pool.invoke(new MergeSortTask(0, size, true, criteria, order));
+    }
+
+    // Sorts [from, to), leaving the result in tasks when intoTasks is set and in buffer
+    // otherwise. Leaves read the input from tasks, which no merge has written to yet.
+    private final class MergeSortTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final boolean intoTasks;
+        private final Task.SortCriteria criteria;
+        private final Comparator<Task> order;
+
+        MergeSortTask(int from, int to, boolean intoTasks, Task.SortCriteria criteria, Comparator<Task> order) {
+            this.from = from;
+            this.to = to;
+            this.intoTasks = intoTasks;
+            this.criteria = criteria;
+            this.order = order;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF) {
+                int[] sorted = KeySorter.sortedOrder(tasks, from, to, criteria);
+                for (int i = 0; i < sorted.length; i++) {
+                    buffer[from + i] = tasks[from + sorted[i]];
+                }
+                if (intoTasks) {
+                    System.arraycopy(buffer, from, tasks, from, to - from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(from, mid, !intoTasks, criteria, order),
+                    new MergeSortTask(mid, to, !intoTasks, criteria, order));
+            Task[] source = intoTasks ? buffer : tasks;
+            Task[] target = intoTasks ? tasks : buffer;
+            new MergeTask(source, target, from, mid, mid, to, from, order).compute();
+        }
+    }
+
+    // Merges source[leftFrom, leftTo) and source[rightFrom, rightTo) into target from out.
+    // Large merges split at the middle of the longer run and binary-search the matching
+    // split in the other, keeping every left element ahead of equal right elements.
+    private static final class MergeTask extends RecursiveAction {
+        private final Task[] source;
+        private final Task[] target;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final int out;
+        private final Comparator<Task> order;
+
+        MergeTask(Task[] source, Task[] target, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                  int out, Comparator<Task> order) {
+            this.source = source;
+            this.target = target;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.out = out;
+            this.order = order;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+            if (leftLength + rightLength <= GRAIN) {
+                mergeSequentially();
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftLength >= rightLength) {
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = lowerBound(source, rightFrom, rightTo, source[leftSplit], order);
+            } else {
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = upperBound(source, leftFrom, leftTo, source[rightSplit], order);
+            }
+            int splitOut = out + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(new MergeTask(source, target, leftFrom, leftSplit, rightFrom, rightSplit, out, order),
+                    new MergeTask(source, target, leftSplit, leftTo, rightSplit, rightTo, splitOut, order));
+        }
+
+        private void mergeSequentially() {
+            int i = leftFrom;
+            int j = rightFrom;
+            int k = out;
+            while (i < leftTo && j < rightTo) {
+                target[k++] = order.compare(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+            }
+            System.arraycopy(source, i, target, k, leftTo - i);
+            System.arraycopy(source, j, target, k + leftTo - i, rightTo - j);
+        }
+    }
+
+    // First index in [from, to) whose element is not before the key
+    private static int lowerBound(Task[] source, int from, int to, Task key, Comparator<Task> order) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (order.compare(source[mid], key) < 0) from = mid + 1; else to = mid;
+        }
+        return from;
+    }
+
+    // First index in [from, to) whose element is after the key
+    private static int upperBound(Task[] source, int from, int to, Task key, Comparator<Task> order) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (order.compare(source[mid], key) <= 0) from = mid + 1; else to = mid;
+        }
+        return from;
+    }
+
+    private void sampleSortByDeadline(int from, int to, boolean descending) {
+        int length = to - from;
+        long[] keys = new long[size];
+        int chunks = chunkCount(length);
+        forEachChunk(chunks, chunk -> {
+            for (int i = chunkStart(from, length, chunk, chunks); i < chunkStart(from, length, chunk + 1, chunks); i++) {
+                long time = tasks[i].getDeadline().getTime();
+                keys[i] = descending ? ~time : time;
+            }
+        });
+
+        // Splitters from a sorted random sample: bucket b holds keys in [splitters[b-1], splitters[b])
+        int bucketCount = Math.max(2, pool.getParallelism() * BUCKETS_PER_WORKER);
+        long[] sample = new long[bucketCount * OVERSAMPLING];
+        Random random = new Random(length);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = keys[from + random.nextInt(length)];
+        }
+        Arrays.sort(sample);
+        long[] splitters = new long[bucketCount - 1];
+        for (int b = 1; b < bucketCount; b++) {
+            splitters[b - 1] = sample[b * OVERSAMPLING];
+        }
+
+        // Each chunk records its elements' buckets and counts them
+        int[] buckets = new int[size];
+        int[][] counts = new int[chunks][bucketCount];
+        forEachChunk(chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkStart(from, length, chunk, chunks); i < chunkStart(from, length, chunk + 1, chunks); i++) {
+                int bucket = bucketOf(splitters, keys[i]);
+                buckets[i] = bucket;
+                chunkCounts[bucket]++;
+            }
+        });
+        int[] bucketStarts = new int[bucketCount + 1];
+        int[][] offsets = scatterOffsets(from, counts, bucketCount, bucketStarts, false);
+
+        // Scatter in chunk order into the buffer, then sort each bucket independently
+        long[] keyBuffer = new long[size];
+        forEachChunk(chunks, chunk -> {
+            int[] next = offsets[chunk];
+            for (int i = chunkStart(from, length, chunk, chunks); i < chunkStart(from, length, chunk + 1, chunks); i++) {
+                int target = next[buckets[i]]++;
+                buffer[target] = tasks[i];
+                keyBuffer[target] = keys[i];
+            }
+        });
+        forEachChunk(bucketCount, bucket ->
+                radixSort(keyBuffer, buffer, keys, tasks, bucketStarts[bucket], bucketStarts[bucket + 1]));
+    }
+
+    private static int bucketOf(long[] splitters, long key) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] <= key) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    // Stable LSD radix sort of one bucket of (key, task) pairs held in keys/values, using
+    // the other pair of arrays as scratch over the same range; the result ends up in
+    // outKeys/outValues
+    private static void radixSort(long[] keys, Task[] values, long[] outKeys, Task[] outValues, int from, int to) {
+        long[] sourceKeys = keys;
+        Task[] sourceValues = values;
+        long[] targetKeys = outKeys;
+        Task[] targetValues = outValues;
+        int[] counts = new int[256];
+        for (int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = from; i < to; i++) {
+                counts[digit(sourceKeys[i], shift)]++;
+            }
+            if (to > from && counts[digit(sourceKeys[from], shift)] == to - from) {
+                continue; // every key shares this byte
+            }
+            int position = from;
+            for (int d = 0; d < 256; d++) {
+                int count = counts[d];
+                counts[d] = position;
+                position += count;
+            }
+            for (int i = from; i < to; i++) {
+                int target = counts[digit(sourceKeys[i], shift)]++;
+                targetKeys[target] = sourceKeys[i];
+                targetValues[target] = sourceValues[i];
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            Task[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+        }
+        if (sourceValues != outValues) {
+            System.arraycopy(sourceKeys, from, outKeys, from, to - from);
+            System.arraycopy(sourceValues, from, outValues, from, to - from);
+        }
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (((key ^ Long.MIN_VALUE) >>> shift) & 0xFF);
+    }
+
+    private void countingSortByImportance(boolean descending) {
+        int levels = Task.ImportanceLevel.values().length;
+        int chunks = chunkCount(size);
+        int[][] counts = new int[chunks][levels];
+        forEachChunk(chunks, chunk -> {
+            for (int i = chunkStart(0, size, chunk, chunks); i < chunkStart(0, size, chunk + 1, chunks); i++) {
+                counts[chunk][tasks[i].getImportance().ordinal()]++;
+            }
+        });
+        int[] levelStarts = new int[levels + 1];
+        int[][] offsets = scatterOffsets(0, counts, levels, levelStarts, descending);
+
+        forEachChunk(chunks, chunk -> {
+            int[] next = offsets[chunk];
+            for (int i = chunkStart(0, size, chunk, chunks); i < chunkStart(0, size, chunk + 1, chunks); i++) {
+                buffer[next[tasks[i].getImportance().ordinal()]++] = tasks[i];
+            }
+        });
+        System.arraycopy(buffer, 0, tasks, 0, size);
+
+        // Deadline ascending within each level, as the sequential counting sort does
+        for (int rank = 0; rank < levels; rank++) {
+            if (levelStarts[rank + 1] - levelStarts[rank] > 1) {
+                sampleSortByDeadline(levelStarts[rank], levelStarts[rank + 1], false);
+            }
+        }
+    }
+
+    // Where each chunk writes each key, starting at from: keys are laid out in order
+    // (reversed when descending), and within a key chunk by chunk, which keeps the
+    // scatter stable. starts[rank] receives where the rank-th key's run begins.
+    private static int[][] scatterOffsets(int from, int[][] counts, int keyCount, int[] starts, boolean descending) {
+        int[][] offsets = new int[counts.length][keyCount];
+        int position = from;
+        for (int rank = 0; rank < keyCount; rank++) {
+            int key = descending ? keyCount - 1 - rank : rank;
+            starts[rank] = position;
+            for (int chunk = 0; chunk < counts.length; chunk++) {
+                offsets[chunk][key] = position;
+                position += counts[chunk][key];
+            }
+        }
+        starts[keyCount] = position;
+        return offsets;
+    }
+
+    private int chunkCount(int length) {
+        int byWorkers = pool.getParallelism() * BUCKETS_PER_WORKER;
+        return Math.max(1, Math.min(byWorkers, (length + GRAIN - 1) / GRAIN));
+    }
+
+    private static int chunkStart(int from, int length, int chunk, int chunks) {
+        return from + (int) ((long) length * chunk / chunks);
+    }
+
+    private void forEachChunk(int chunks, IntConsumer body) {
+        pool.invoke(new ChunkTask(0, chunks, body));
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ChunkTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package models;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free list of task ids. Ids are mostly allocated in increasing
+// order, so adds are usually appends; out-of-order adds and removes shift the tail.
+public class PostingList {
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private int[] ids;
+    private int size;
+
+    public PostingList() {
+        ids = new int[DEFAULT_CAPACITY];
+        size = 0;
+    }
+
+    public void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) return;
+            insertAt(-index - 1, id);
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public boolean remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Keep only the candidates present in this list; candidates must be sorted
+    public int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            int index = Arrays.binarySearch(ids, from, size, candidates[i]);
+            if (index >= 0) {
+                candidates[kept++] = candidates[i];
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void insertAt(int index, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
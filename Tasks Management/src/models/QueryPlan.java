@@ -0,0 +1,87 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// How a SearchCriteria is evaluated: the index that drives candidate generation, the
+// filters applied to each candidate, and (once run) how many rows were examined.
+public class QueryPlan {
+    public enum Driver {
+        KEYWORD("keyword index"),
+        DEADLINE_RANGE("deadline index"),
+        FILTERS("filter bitmaps"),
+        FULL_SCAN("full scan");
+
+        private final String label;
+
+        Driver(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Map<Driver, Integer> estimates;
+    private final List<String> residualFilters;
+    private Driver driver;
+    private int rowsExamined;
+    private int rowsMatched;
+
+    public QueryPlan() {
+        estimates = new EnumMap<>(Driver.class);
+        residualFilters = new ArrayList<>();
+        driver = Driver.FULL_SCAN;
+    }
+
+    // Record a usable driver and its estimated candidate count; the cheapest one wins
+    public void consider(Driver candidate, int estimatedRows) {
+        estimates.put(candidate, estimatedRows);
+        if (estimatedRows < estimates.getOrDefault(driver, Integer.MAX_VALUE)) {
+            driver = candidate;
+        }
+    }
+
+    public void addResidualFilter(String filter) {
+        residualFilters.add(filter);
+    }
+
+    public void recordExamined() {
+        rowsExamined++;
+    }
+
+    public void recordMatched() {
+        rowsMatched++;
+    }
+
+    public Driver getDriver() { return driver; }
+    public int getEstimatedRows() { return estimates.getOrDefault(driver, 0); }
+    public Map<Driver, Integer> getEstimates() { return estimates; }
+    public List<String> getResidualFilters() { return residualFilters; }
+    public int getRowsExamined() { return rowsExamined; }
+    public int getRowsMatched() { return rowsMatched; }
+
+    // Human-readable plan, in the spirit of SQL EXPLAIN ANALYZE
+    public String explain() {
+        StringBuilder out = new StringBuilder();
+        out.append("Driver: ").append(driver.getLabel())
+                .append(" (estimated ").append(getEstimatedRows()).append(" rows)\n");
+        out.append("Considered:");
+        for (Map.Entry<Driver, Integer> estimate : estimates.entrySet()) {
+            out.append(' ').append(estimate.getKey().getLabel()).append('=').append(estimate.getValue()).append(';');
+        }
+        out.append('\n');
+        out.append("Residual filters: ")
+                .append(residualFilters.isEmpty() ? "none" : String.join(", ", residualFilters)).append('\n');
+        out.append("Rows examined: ").append(rowsExamined).append(", matched: ").append(rowsMatched);
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
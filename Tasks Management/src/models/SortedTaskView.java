@@ -0,0 +1,174 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Tasks of one category (or all tasks) kept in Task.SortCriteria order as they change.
+// Adds, updates and removes are O(log n) positional inserts and deletes in an
+// order-statistic tree, so readers never re-sort. Each entry snapshots the fields it
+// is ordered by, and ties fall back to a sequence number that follows the store's
+// order (TaskStore.orderOf), which gives the same result as the stable sorts in TaskArray.
+public class SortedTaskView implements Iterable<Task> {
+    public static final int ALL_CATEGORIES = -1;
+
+    private static class Entry {
+        final String description;
+        final long deadline;
+        final int importance;
+        final long sequence;
+        final int id;
+        Task task;
+
+        Entry(Task task, long sequence) {
+            this.description = task.getDescription();
+            this.deadline = task.getDeadline().getTime();
+            this.importance = task.getImportance().ordinal();
+            this.sequence = sequence;
+            this.id = task.getId();
+            this.task = task;
+        }
+    }
+
+    private final int categoryId;
+    private final Task.SortCriteria criteria;
+    private final Comparator<Entry> order;
+    private final OrderStatisticTree<Entry> tree;
+    private final Map<Integer, Entry> entries; // id -> entry as ordered
+    private volatile int version;              // bumped on every change, so readers can skip redraws
+
+    public SortedTaskView(int categoryId, Task.SortCriteria criteria) {
+        this.categoryId = categoryId;
+        this.criteria = criteria;
+        this.order = comparator(criteria);
+        this.tree = new OrderStatisticTree<>(order);
+        this.entries = new HashMap<>();
+    }
+
+    public int getCategoryId() { return categoryId; }
+    public Task.SortCriteria getCriteria() { return criteria; }
+    public int getVersion() { return version; }
+
+    public boolean covers(Task task) {
+        return categoryId == ALL_CATEGORIES || task.getCategory().getId() == categoryId;
+    }
+
+    // Sequence numbers must increase with the task's position in the store
+    public void add(Task task, long sequence) {
+        if (!covers(task) || entries.containsKey(task.getId())) {
+            return;
+        }
+        Entry entry = new Entry(task, sequence);
+        entries.put(entry.id, entry);
+        tree.add(entry);
+        version++;
+    }
+
+    // Updates keep the task's place in the store, so the entry keeps its sequence and only
+    // moves, O(log n), when a field this view orders by changed; otherwise it is O(1). The
+    // sequence is used when the task just moved into this view's category.
+    public void update(Task task, long sequence) {
+        Entry entry = entries.get(task.getId());
+        if (!covers(task)) {
+            remove(task.getId());
+            return;
+        }
+        if (entry == null) {
+            add(task, sequence);
+            return;
+        }
+        Entry updated = new Entry(task, entry.sequence);
+        if (order.compare(entry, updated) == 0) {
+            entry.task = task; // same place; fields this view does not order by are read from the task
+        } else {
+            tree.remove(entry);
+            entries.put(updated.id, updated);
+            tree.add(updated);
+        }
+        version++;
+    }
+
+    public void remove(int id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            tree.remove(entry);
+            version++;
+        }
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public Task get(int position) {
+        return tree.get(position).task;
+    }
+
+    // Position of the task in this view, or -1 when the view does not hold it
+    public int indexOf(int id) {
+        Entry entry = entries.get(id);
+        return entry == null ? -1 : tree.rankOf(entry);
+    }
+
+    public List<Task> toList() {
+        List<Task> result = new ArrayList<>(tree.size());
+        for (Entry entry : tree) {
+            result.add(entry.task);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return iterator(0);
+    }
+
+    public Iterator<Task> iterator(int fromPosition) {
+        Iterator<Entry> entryIterator = tree.iterator(fromPosition);
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                return entryIterator.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                return entryIterator.next().task;
+            }
+        };
+    }
+
+    private static Comparator<Entry> comparator(Task.SortCriteria criteria) {
+        Comparator<Entry> order;
+        switch (criteria) {
+            case NAME_ASC:
+                order = (a, b) -> a.description.compareTo(b.description);
+                break;
+            case NAME_DESC:
+                order = (a, b) -> b.description.compareTo(a.description);
+                break;
+            case DEADLINE_ASC:
+                order = (a, b) -> Long.compare(a.deadline, b.deadline);
+                break;
+            case DEADLINE_DESC:
+                order = (a, b) -> Long.compare(b.deadline, a.deadline);
+                break;
+            case IMPORTANCE_ASC:
+                order = (a, b) -> a.importance != b.importance
+                        ? Integer.compare(a.importance, b.importance)
+                        : Long.compare(a.deadline, b.deadline);
+                break;
+            case IMPORTANCE_DESC:
+                order = (a, b) -> a.importance != b.importance
+                        ? Integer.compare(b.importance, a.importance)
+                        : Long.compare(a.deadline, b.deadline);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sort criteria: " + criteria);
+        }
+        return order.thenComparingLong(entry -> entry.sequence);
+    }
+}
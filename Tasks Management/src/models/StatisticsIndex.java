@@ -0,0 +1,141 @@
+package models;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Running totals over all tasks: overall, incomplete, per category and per importance
+// level, adjusted by each add, update and remove instead of being recounted. Incomplete
+// tasks are also kept in deadline order, so the overdue count for any moment is a rank
+// lookup, O(log n).
+public class StatisticsIndex {
+    private static class Entry {
+        final int id;
+        final int categoryId;
+        final Task.ImportanceLevel importance;
+        final boolean completed;
+        final long deadline;
+
+        Entry(Task task) {
+            this(task.getId(), task.getCategory().getId(), task.getImportance(), task.isCompleted(),
+                    task.getDeadline().getTime());
+        }
+
+        Entry(int id, int categoryId, Task.ImportanceLevel importance, boolean completed, long deadline) {
+            this.id = id;
+            this.categoryId = categoryId;
+            this.importance = importance;
+            this.completed = completed;
+            this.deadline = deadline;
+        }
+
+        boolean sameAs(Task task) {
+            return categoryId == task.getCategory().getId()
+                    && importance == task.getImportance()
+                    && completed == task.isCompleted()
+                    && deadline == task.getDeadline().getTime();
+        }
+    }
+
+    public interface DeadlineVisitor {
+        void visit(int taskId, long deadline);
+    }
+
+    private static final Comparator<Entry> BY_DEADLINE = (a, b) -> {
+        int comparison = Long.compare(a.deadline, b.deadline);
+        return comparison != 0 ? comparison : Integer.compare(a.id, b.id);
+    };
+
+    private final Map<Integer, Entry> entries; // id -> fields as counted
+    private final Map<Integer, Integer> byCategory;
+    private final int[] byImportance;
+    private final OrderStatisticTree<Entry> incompleteByDeadline;
+    private int incomplete;
+
+    public StatisticsIndex() {
+        entries = new HashMap<>();
+        byCategory = new HashMap<>();
+        byImportance = new int[Task.ImportanceLevel.values().length];
+        incompleteByDeadline = new OrderStatisticTree<>(BY_DEADLINE);
+    }
+
+    public void add(Task task) {
+        Entry entry = new Entry(task);
+        if (entries.put(entry.id, entry) != null) {
+            throw new IllegalArgumentException("Task with ID " + entry.id + " is already counted");
+        }
+        count(entry, 1);
+    }
+
+    public void remove(int id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            count(entry, -1);
+        }
+    }
+
+    // Recount only when a counted field changed
+    public void update(Task task) {
+        Entry entry = entries.get(task.getId());
+        if (entry != null && entry.sameAs(task)) {
+            return;
+        }
+        remove(task.getId());
+        add(task);
+    }
+
+    public int getTotal() {
+        return entries.size();
+    }
+
+    public int getIncomplete() {
+        return incomplete;
+    }
+
+    public int getCategoryCount(int categoryId) {
+        return byCategory.getOrDefault(categoryId, 0);
+    }
+
+    public int getImportanceCount(Task.ImportanceLevel level) {
+        return byImportance[level.ordinal()];
+    }
+
+    // Incomplete tasks due strictly before the given time
+    public int countOverdue(long now) {
+        return incompleteByDeadline.rankOf(new Entry(Integer.MIN_VALUE, 0, null, false, now));
+    }
+
+    // Id of the incomplete task due first, or -1 when every task is complete
+    public int nextDueId() {
+        return incompleteByDeadline.isEmpty() ? -1 : incompleteByDeadline.get(0).id;
+    }
+
+    // Visits the incomplete tasks earliest deadline first, without loading them
+    public void forEachIncomplete(DeadlineVisitor visitor) {
+        for (Entry entry : incompleteByDeadline) {
+            visitor.visit(entry.id, entry.deadline);
+        }
+    }
+
+    public TaskStatistics snapshot(long now) {
+        Map<Task.ImportanceLevel, Integer> importance = new EnumMap<>(Task.ImportanceLevel.class);
+        for (Task.ImportanceLevel level : Task.ImportanceLevel.values()) {
+            importance.put(level, byImportance[level.ordinal()]);
+        }
+        return new TaskStatistics(getTotal(), incomplete, countOverdue(now), new HashMap<>(byCategory), importance);
+    }
+
+    private void count(Entry entry, int delta) {
+        byCategory.merge(entry.categoryId, delta, Integer::sum);
+        byImportance[entry.importance.ordinal()] += delta;
+        if (!entry.completed) {
+            incomplete += delta;
+            if (delta > 0) {
+                incompleteByDeadline.add(entry);
+            } else {
+                incompleteByDeadline.remove(entry);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package models;
 
 import java.awt.*;
+import java.util.Comparator;
 import java.util.Date;
 
 public class Task {
@@ -28,8 +29,39 @@ public class Task {
         public String getLabel() {
             return label;
         }
+
+        // The order TaskArray.sort produces; importance levels are ordered by deadline
+        public Comparator<Task> comparator() {
+            switch (this) {
+                case NAME_ASC:
+                    return BY_NAME;
+                case NAME_DESC:
+                    return BY_NAME.reversed();
+                case DEADLINE_ASC:
+                    return BY_DEADLINE;
+                case DEADLINE_DESC:
+                    return BY_DEADLINE.reversed();
+                case IMPORTANCE_ASC:
+                    return BY_IMPORTANCE.thenComparing(BY_DEADLINE);
+                default:
+                    return BY_IMPORTANCE.reversed().thenComparing(BY_DEADLINE);
+            }
+        }
     }
 
+    private static final Comparator<Task> BY_NAME = Comparator.comparing(Task::getDescription);
+    private static final Comparator<Task> BY_DEADLINE = Comparator.comparing(Task::getDeadline);
+    private static final Comparator<Task> BY_IMPORTANCE = Comparator.comparingInt(task -> task.getImportance().ordinal());
+
+
+    // Fields a change can touch; the id never changes
+    public enum Field {
+        DESCRIPTION,
+        CATEGORY,
+        DEADLINE,
+        IMPORTANCE,
+        COMPLETED
+    }
 
     public enum ImportanceLevel {
         IMPORTANT_URGENT("Important & Urgent", "🔴", new Color(255, 59, 48)),
@@ -63,6 +95,14 @@ public class Task {
     }
 
 
+    // Same id and fields; edit a copy and pass it to TaskService.updateTask, so the service
+    // can tell which fields changed and readers never see a half-made edit
+    public Task copy() {
+        Task copy = new Task(id, description, category, new Date(deadline.getTime()), importance);
+        copy.completed = completed;
+        return copy;
+    }
+
     // Getters and setters
     public int getId() { return id; }
 
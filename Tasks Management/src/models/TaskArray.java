@@ -1,9 +1,14 @@
 package models;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class TaskArray {
     private Task[] array;
     private int size;
     private static final int DEFAULT_CAPACITY = 10;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int KEY_SORT_THRESHOLD = 2048;
+    private static volatile int parallelThreshold = Integer.getInteger("todo.sort.parallelThreshold", 1 << 18);
 
     public TaskArray() {
         array = new Task[DEFAULT_CAPACITY];
@@ -51,7 +56,58 @@ public class TaskArray {
         array = newArray;
     }
 
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    // Arrays at least this large are sorted on the common fork-join pool
+    public static void setParallelThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        parallelThreshold = threshold;
+    }
+
+    // Large arrays are sorted through primitive keys, or in parallel when there are cores
+    // to spare; small ones by comparing tasks directly
     public void sort(Task.SortCriteria criteria) {
+        if (size >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelSort(criteria, ForkJoinPool.commonPool());
+        } else if (size >= KEY_SORT_THRESHOLD) {
+            sortByKeys(criteria);
+        } else {
+            sortByComparison(criteria);
+        }
+    }
+
+    // Extract one packed key per task, radix-sort a permutation by it, then apply the permutation
+    public void sortByKeys(Task.SortCriteria criteria) {
+        int[] order = KeySorter.sortedOrder(array, 0, size, criteria);
+
+        // Apply in place by following each cycle of the permutation
+        for (int start = 0; start < size; start++) {
+            if (order[start] == start) continue;
+            Task first = array[start];
+            int position = start;
+            while (true) {
+                int source = order[position];
+                order[position] = position;
+                if (source == start) {
+                    array[position] = first;
+                    break;
+                }
+                array[position] = array[source];
+                position = source;
+            }
+        }
+    }
+
+    // Same order as sort(); the name and importance sorts stay stable
+    public void parallelSort(Task.SortCriteria criteria, ForkJoinPool pool) {
+        ParallelTaskSorter.sort(pool, array, size, criteria);
+    }
+
+    public void sortByComparison(Task.SortCriteria criteria) {
         switch (criteria) {
             case NAME_ASC:
             case NAME_DESC:
@@ -121,35 +177,104 @@ public class TaskArray {
 
 
     // QuickSort implementation
-    // QuickSort for deadline-based sorting
+    // Introsort for deadline-based sorting: median-of-three quicksort with a Hoare
+    // partition, which splits runs of equal deadlines evenly, insertion sort for short
+    // ranges, and heapsort once recursion gets too deep, which keeps it O(n log n)
     public void quickSort(int low, int high, Task.SortCriteria criteria) {
         if (low < high) {
+            int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(high - low + 1));
+            introSort(low, high, depthLimit, criteria);
+        }
+    }
+
+    private void introSort(int low, int high, int depthLimit, Task.SortCriteria criteria) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(low, high, criteria);
+                return;
+            }
+
             // Use median-of-three pivot selection for better performance
             int mid = low + (high - low) / 2;
-            Task pivot = medianOfThree(array[low], array[mid], array[high], criteria);
-
-            // Move pivot to end
-            swap(array, high, getIndexOfValue(array, pivot));
+            Task pivot = array[medianOfThree(low, mid, high, criteria)];
+
+            // Afterwards [low, j] holds nothing after the pivot and [i, high] nothing before it
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (deadlineOrder(array[i], pivot, criteria) < 0) i++;
+                while (deadlineOrder(array[j], pivot, criteria) > 0) j--;
+                if (i <= j) {
+                    swap(array, i++, j--);
+                }
+            }
 
-            int pi = partition(low, high, criteria);
-            quickSort(low, pi - 1, criteria);
-            quickSort(pi + 1, high, criteria);
+            // Recurse into the smaller side and loop on the larger one to bound the stack
+            if (j - low < high - i) {
+                introSort(low, j, depthLimit, criteria);
+                low = i;
+            } else {
+                introSort(i, high, depthLimit, criteria);
+                high = j;
+            }
         }
+        insertionSort(low, high, criteria);
     }
 
-    private Task medianOfThree(Task a, Task b, Task c, Task.SortCriteria criteria) {
-        boolean aLessB = compareByDeadline(a, b, criteria);
-        boolean bLessC = compareByDeadline(b, c, criteria);
-        boolean aLessC = compareByDeadline(a, c, criteria);
+    private int medianOfThree(int a, int b, int c, Task.SortCriteria criteria) {
+        boolean aLessB = compareByDeadline(array[a], array[b], criteria);
+        boolean bLessC = compareByDeadline(array[b], array[c], criteria);
+        boolean aLessC = compareByDeadline(array[a], array[c], criteria);
 
         if (aLessB == bLessC) return b;
         if (aLessC == (bLessC != aLessB)) return c;
         return a;
     }
 
+    private void insertionSort(int low, int high, Task.SortCriteria criteria) {
+        for (int i = low + 1; i <= high; i++) {
+            Task key = array[i];
+            int j = i - 1;
+            while (j >= low && deadlineOrder(array[j], key, criteria) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private void heapSort(int low, int high, Task.SortCriteria criteria) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(low, i, n, criteria);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, low, low + end);
+            siftDown(low, 0, end, criteria);
+        }
+    }
+
+    private void siftDown(int offset, int root, int n, Task.SortCriteria criteria) {
+        while (2 * root + 1 < n) {
+            int child = 2 * root + 1;
+            if (child + 1 < n && deadlineOrder(array[offset + child], array[offset + child + 1], criteria) < 0) {
+                child++;
+            }
+            if (deadlineOrder(array[offset + root], array[offset + child], criteria) >= 0) {
+                return;
+            }
+            swap(array, offset + root, offset + child);
+            root = child;
+        }
+    }
+
     private boolean compareByDeadline(Task a, Task b, Task.SortCriteria criteria) {
-        int comparison = a.getDeadline().compareTo(b.getDeadline());
-        return criteria == Task.SortCriteria.DEADLINE_ASC ? comparison <= 0 : comparison >= 0;
+        return deadlineOrder(a, b, criteria) <= 0;
+    }
+
+    private int deadlineOrder(Task a, Task b, Task.SortCriteria criteria) {
+        int comparison = Long.compare(a.getDeadline().getTime(), b.getDeadline().getTime());
+        return criteria == Task.SortCriteria.DEADLINE_ASC ? comparison : -comparison;
     }
 
     // CountingSort for importance-based sorting
@@ -163,58 +288,72 @@ public class TaskArray {
             count[array[i].getImportance().ordinal()]++;
         }
 
-
-        // Calculate starting positions
-        if (descending) {
-            for (int i = levels.length - 2; i >= 0; i--) {
-                count[i] += count[i + 1];
-            }
-        } else {
-            for (int i = 1; i < levels.length; i++) {
-                count[i] += count[i - 1];
-            }
+        // Calculate where each level's bucket starts
+        int[] start = new int[levels.length];
+        int position = 0;
+        for (int k = 0; k < levels.length; k++) {
+            int level = descending ? levels.length - 1 - k : k;
+            start[level] = position;
+            position += count[level];
         }
 
-        // Build output array
-        for (int i = size - 1; i >= 0; i--) {
-            int importance = array[i].getImportance().ordinal();
-            output[count[importance] - 1] = array[i];
-            count[importance]--;
+        // Build output array, keeping the input order within each bucket
+        int[] next = start.clone();
+        for (int i = 0; i < size; i++) {
+            output[next[array[i].getImportance().ordinal()]++] = array[i];
         }
 
-        for (Task.ImportanceLevel level : Task.ImportanceLevel.values()) {
-            int startIndex = -1;
-            int tasksInLevel = 0;  // Renamed from count to avoid conflict
-
-            // Find range of tasks with same importance
-            for (int i = 0; i < size; i++) {
-                if (output[i].getImportance() == level) {
-                    if (startIndex == -1) startIndex = i;
-                    tasksInLevel++;
-                }
-            }
-
-            if (tasksInLevel > 1) {
-                secondarySort(output, startIndex, startIndex + tasksInLevel - 1);
+        // Order each bucket by deadline; the bucket bounds are already known
+        Task[] temp = new Task[size];
+        for (int level = 0; level < levels.length; level++) {
+            if (count[level] > 1) {
+                secondarySort(output, temp, start[level], start[level] + count[level] - 1);
             }
         }
 
-
         // Copy back to original array
         System.arraycopy(output, 0, array, 0, size);
     }
 
-    // Secondary sort for tasks with same importance
-    private void secondarySort(Task[] tasks, int start, int end) {
-        // Use insertion sort for small ranges
-        for (int i = start + 1; i <= end; i++) {
-            Task key = tasks[i];
-            int j = i - 1;
-            while (j >= start && tasks[j].getDeadline().after(key.getDeadline())) {
-                tasks[j + 1] = tasks[j];
-                j--;
+    // Secondary sort for tasks with same importance: stable merge sort by deadline,
+    // falling back to insertion sort for small ranges
+    private void secondarySort(Task[] tasks, Task[] temp, int start, int end) {
+        if (end - start < INSERTION_SORT_THRESHOLD) {
+            for (int i = start + 1; i <= end; i++) {
+                Task key = tasks[i];
+                int j = i - 1;
+                while (j >= start && tasks[j].getDeadline().after(key.getDeadline())) {
+                    tasks[j + 1] = tasks[j];
+                    j--;
+                }
+                tasks[j + 1] = key;
             }
-            tasks[j + 1] = key;
+            return;
+        }
+
+        int mid = (start + end) >>> 1;
+        secondarySort(tasks, temp, start, mid);
+        secondarySort(tasks, temp, mid + 1, end);
+        if (!tasks[mid].getDeadline().after(tasks[mid + 1].getDeadline())) {
+            return; // halves already in order
+        }
+
+        System.arraycopy(tasks, start, temp, start, end - start + 1);
+        int i = start;
+        int j = mid + 1;
+        int k = start;
+        while (i <= mid && j <= end) {
+            if (!temp[i].getDeadline().after(temp[j].getDeadline())) {
+                tasks[k++] = temp[i++];
+            } else {
+                tasks[k++] = temp[j++];
+            }
+        }
+        while (i <= mid) {
+            tasks[k++] = temp[i++];
+        }
+        while (j <= end) {
+            tasks[k++] = temp[j++];
         }
     }
 
@@ -224,13 +363,6 @@ public class TaskArray {
         arr[j] = temp;
     }
 
-    private int getIndexOfValue(Task[] arr, Task value) {
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i] == value) return i;
-        }
-        return -1;
-    }
-
     private boolean compareImportance(Task a, Task b, boolean ascending) {
         // First compare completion status
         if (a.isCompleted() != b.isCompleted()) {
@@ -249,25 +381,4 @@ public class TaskArray {
                 a.getDeadline().compareTo(b.getDeadline()) <= 0 :
                 a.getDeadline().compareTo(b.getDeadline()) >= 0;
     }
-
-    private int partition(int low, int high, Task.SortCriteria criteria) {
-        Task pivot = array[high];
-        int i = (low - 1);
-
-        for (int j = low; j < high; j++) {
-            // Should use specific comparison based on criteria
-            switch (criteria) {
-                case DEADLINE_ASC:
-                case DEADLINE_DESC:
-                    if (compareByDeadline(array[j], pivot, criteria)) {
-                        i++;
-                        swap(array, i, j);
-                    }
-                    break;
-            }
-        }
-
-        swap(array, i + 1, high);
-        return i + 1;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Adds, updates and deletes to apply together with TaskService.applyBatch, in the order
+// they were queued. Updates carry the task as it should be stored, usually an edited
+// copy (Task.copy) of one in the service.
+public class TaskBatch {
+    public enum Type { ADD, UPDATE, DELETE }
+
+    public static final class Operation {
+        private final Type type;
+        private final int taskId;
+        private final Task task; // null for deletes
+
+        private Operation(Type type, int taskId, Task task) {
+            this.type = type;
+            this.taskId = taskId;
+            this.task = task;
+        }
+
+        public Type getType() { return type; }
+        public int getTaskId() { return taskId; }
+        public Task getTask() { return task; }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    public TaskBatch add(Task task) {
+        return queue(Type.ADD, task);
+    }
+
+    public TaskBatch update(Task task) {
+        return queue(Type.UPDATE, task);
+    }
+
+    public TaskBatch delete(int taskId) {
+        operations.add(new Operation(Type.DELETE, taskId, null));
+        return this;
+    }
+
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    private TaskBatch queue(Type type, Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        operations.add(new Operation(type, task.getId(), task));
+        return this;
+    }
+}
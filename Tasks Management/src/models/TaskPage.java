@@ -0,0 +1,35 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of an ordered result: the tasks at [offset, offset + size) and the total
+// number of matches, so callers can page on without fetching everything.
+public class TaskPage {
+    private final List<Task> tasks;
+    private final int offset;
+    private final int totalCount;
+
+    public TaskPage(List<Task> tasks, int offset, int totalCount) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.offset = offset;
+        this.totalCount = totalCount;
+    }
+
+    public List<Task> getTasks() { return tasks; }
+    public int getOffset() { return offset; }
+    public int getTotalCount() { return totalCount; }
+
+    public boolean hasMore() {
+        return offset + tasks.size() < totalCount;
+    }
+
+    public int nextOffset() {
+        return offset + tasks.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPage[" + offset + ".." + nextOffset() + " of " + totalCount + "]";
+    }
+}
@@ -1,86 +1,166 @@
 package models;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Unbounded FIFO of tasks that any number of threads may enqueue into without locking
+// while one consumer thread takes them out. Tasks are stored in linked fixed-size
+// segments: a producer claims a slot with one atomic increment on the tail segment and
+// publishes the task into it, and only the producer that fills a segment links the next
+// one, so allocation is one array per SEGMENT_SIZE tasks instead of a node per task.
+// The consumer owns the head position and needs no atomic writes at all.
+//
+// Everything below "consumer only" must be called from a single thread at a time.
+// Segments are not recycled: a producer delayed after reading the tail may still claim
+// a slot in a segment long after it was drained, which is harmless only because a full
+// segment never hands out a slot again.
 public class TaskQueue {
-    private static class Node {
-        Task task;
-        Node next;
+    static final int SEGMENT_SIZE = 1024;
 
-        Node(Task task) {
-            this.task = task;
-            this.next = null;
-        }
+    private static class Segment {
+        final AtomicReferenceArray<Task> slots = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        final AtomicInteger claimed = new AtomicInteger(); // slots handed out, may overshoot SEGMENT_SIZE
+        final AtomicReference<Segment> next = new AtomicReference<>();
     }
 
-    private Node front;
-    private Node rear;
-    private int size;
+    private final AtomicReference<Segment> tail;
+    private Segment head;  // consumer only
+    private int headIndex; // consumer only: next slot to take in head
 
     public TaskQueue() {
-        front = null;
-        rear = null;
-        size = 0;
+        Segment first = new Segment();
+        tail = new AtomicReference<>(first);
+        head = first;
     }
 
-    // Add task to queue
+    // Add task to queue; safe from any thread and never blocks
     public void enqueue(Task task) {
-        Node newNode = new Node(task);
-        if (isEmpty()) {
-            front = newNode;
-        } else {
-            rear.next = newNode;
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        while (true) {
+            Segment segment = tail.get();
+            int index = segment.claimed.getAndIncrement();
+            if (index < SEGMENT_SIZE) {
+                segment.slots.lazySet(index, task);
+                return;
+            }
+            // Segment is full: link a new one (or find the one another producer linked) and retry
+            Segment next = segment.next.get();
+            if (next == null) {
+                Segment fresh = new Segment();
+                next = segment.next.compareAndSet(null, fresh) ? fresh : segment.next.get();
+            }
+            tail.compareAndSet(segment, next);
         }
-        rear = newNode;
-        size++;
     }
 
-    // Remove and return front task
+    // Remove and return front task, or null when empty (consumer only)
+    public Task poll() {
+        Task task = first();
+        if (task != null) {
+            headIndex++;
+        }
+        return task;
+    }
+
+    // Remove and return front task (consumer only)
     public Task dequeue() {
-        if (isEmpty()) {
+        Task task = poll();
+        if (task == null) {
             throw new IllegalStateException("Queue is empty");
         }
-        Task task = front.task;
-        front = front.next;
-        if (front == null) {
-            rear = null;
-        }
-        size--;
         return task;
     }
 
-    // View front task without removing
+    // View front task without removing (consumer only)
     public Task peek() {
-        if (isEmpty()) {
+        Task task = first();
+        if (task == null) {
             throw new IllegalStateException("Queue is empty");
         }
-        return front.task;
+        return task;
+    }
+
+    // Hand up to limit queued tasks to the consumer in FIFO order, returning how many were
+    // taken. Tasks enqueued while draining may or may not be included (consumer only)
+    public int drain(Consumer<? super Task> consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            Task task = first();
+            if (task == null) {
+                break;
+            }
+            headIndex++;
+            consumer.accept(task);
+            drained++;
+        }
+        return drained;
     }
 
-    // Check if queue is empty
+    // Check if queue is empty (consumer only)
     public boolean isEmpty() {
-        return size == 0;
+        return first() == null;
     }
 
-    // Get current size of queue
+    // Number of tasks enqueued and not yet taken; exact only while no producer is active
     public int size() {
+        int size = -headIndex;
+        for (Segment segment = head; segment != null; segment = segment.next.get()) {
+            size += Math.min(segment.claimed.get(), SEGMENT_SIZE);
+        }
         return size;
     }
 
-    // Clear all tasks from queue
+    // Discard all queued tasks (consumer only)
     public void clear() {
-        front = null;
-        rear = null;
-        size = 0;
+        drain(task -> { }, Integer.MAX_VALUE);
     }
 
-    // Get all tasks as array
+    // Get all queued tasks as array, without removing them (consumer only)
     public Task[] toArray() {
-        Task[] result = new Task[size];
-        Node current = front;
-        int index = 0;
-        while (current != null) {
-            result[index++] = current.task;
-            current = current.next;
+        List<Task> result = new ArrayList<>();
+        Segment segment = head;
+        int index = headIndex;
+        while (true) {
+            if (index == SEGMENT_SIZE) {
+                segment = segment.next.get();
+                if (segment == null) {
+                    break;
+                }
+                index = 0;
+            }
+            Task task = segment.slots.get(index++);
+            if (task == null) {
+                break;
+            }
+            result.add(task);
         }
-        return result;
+        return result.toArray(new Task[0]);
+    }
+
+    // The task at the head, moving to the next segment when this one is used up, or null
+    private Task first() {
+        if (headIndex == SEGMENT_SIZE) {
+            Segment next = head.next.get();
+            if (next == null) {
+                return null;
+            }
+            head = next; // the drained segment is left to the garbage collector
+            headIndex = 0;
+        }
+        Task task = head.slots.get(headIndex);
+        if (task == null && head.claimed.get() > headIndex) {
+            // A producer claimed this slot and is about to publish into it; yield rather
+            // than spin in case it was descheduled in between
+            while ((task = head.slots.get(headIndex)) == null) {
+                Thread.yield();
+            }
+        }
+        return task;
     }
 }
@@ -0,0 +1,44 @@
+package models;
+
+import java.util.EnumSet;
+
+// Immutable copy of a task's fields at one point in time. An update is described by
+// diffing snapshots of the stored task and of the edited copy that replaces it.
+public final class TaskSnapshot {
+    private final int id;
+    private final String description;
+    private final int categoryId;
+    private final long deadline;
+    private final Task.ImportanceLevel importance;
+    private final boolean completed;
+
+    private TaskSnapshot(Task task) {
+        this.id = task.getId();
+        this.description = task.getDescription();
+        this.categoryId = task.getCategory().getId();
+        this.deadline = task.getDeadline().getTime();
+        this.importance = task.getImportance();
+        this.completed = task.isCompleted();
+    }
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task);
+    }
+
+    public int getId() { return id; }
+    public String getDescription() { return description; }
+    public int getCategoryId() { return categoryId; }
+    public long getDeadline() { return deadline; }
+    public Task.ImportanceLevel getImportance() { return importance; }
+    public boolean isCompleted() { return completed; }
+
+    public EnumSet<Task.Field> changedFields(TaskSnapshot other) {
+        EnumSet<Task.Field> changed = EnumSet.noneOf(Task.Field.class);
+        if (!description.equals(other.description)) changed.add(Task.Field.DESCRIPTION);
+        if (categoryId != other.categoryId) changed.add(Task.Field.CATEGORY);
+        if (deadline != other.deadline) changed.add(Task.Field.DEADLINE);
+        if (importance != other.importance) changed.add(Task.Field.IMPORTANCE);
+        if (completed != other.completed) changed.add(Task.Field.COMPLETED);
+        return changed;
+    }
+}
@@ -0,0 +1,14 @@
+package models;
+
+// Read-only, row-addressed task data that can be materialized one Task at a time
+public interface TaskSource {
+    int size();
+
+    int idAt(int row);
+
+    // Row holding the given id, or -1 when absent
+    int rowOf(int id);
+
+    // May be called from several threads at once
+    Task load(int row);
+}
@@ -0,0 +1,43 @@
+package models;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Task counts at one moment, as shown on the home screen and category list
+public final class TaskStatistics {
+    private final int total;
+    private final int incomplete;
+    private final int overdue;
+    private final Map<Integer, Integer> byCategory;
+    private final Map<Task.ImportanceLevel, Integer> byImportance;
+
+    public TaskStatistics(int total, int incomplete, int overdue,
+                          Map<Integer, Integer> byCategory, Map<Task.ImportanceLevel, Integer> byImportance) {
+        this.total = total;
+        this.incomplete = incomplete;
+        this.overdue = overdue;
+        this.byCategory = Collections.unmodifiableMap(byCategory);
+        this.byImportance = Collections.unmodifiableMap(byImportance);
+    }
+
+    public int getTotal() { return total; }
+    public int getIncomplete() { return incomplete; }
+    public int getCompleted() { return total - incomplete; }
+    public int getOverdue() { return overdue; }
+    public Map<Integer, Integer> getCategoryCounts() { return byCategory; }
+    public Map<Task.ImportanceLevel, Integer> getImportanceCounts() { return byImportance; }
+
+    public int getCategoryCount(int categoryId) {
+        return byCategory.getOrDefault(categoryId, 0);
+    }
+
+    public int getImportanceCount(Task.ImportanceLevel level) {
+        return byImportance.getOrDefault(level, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskStatistics[total=" + total + ", incomplete=" + incomplete + ", overdue=" + overdue
+                + ", byCategory=" + byCategory + ", byImportance=" + byImportance + "]";
+    }
+}
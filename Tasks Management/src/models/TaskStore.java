@@ -0,0 +1,288 @@
+package models;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Tasks in insertion order with an id index. An optional read-only base (e.g. a mapped
+// snapshot) supplies the first rows; they are materialized only when accessed, and
+// changes to them are kept here, so the base itself is never written. Loading a base row
+// is safe from several readers at once; everything else needs outside locking for writes.
+public class TaskStore implements Iterable<Task> {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MIN_COMPACT_TOMBSTONES = 64;
+
+    private Task[] slots;
+    private long[] slotOrder; // Stamp of each slot's add, see orderOf
+    private long nextOrder;
+    private int slotCount;   // Slots in use, including tombstones
+    private int slotSize;    // Live tasks in slots only
+    private final IntIntHashMap slotById;
+
+    private final TaskSource base;
+    private final int baseSize;
+    private final BitSet baseDeleted;
+    private int baseDeletedCount;
+    private volatile AtomicReferenceArray<Task> materialized; // Allocated on first access to a base row
+
+    public TaskStore() {
+        this(null);
+    }
+
+    public TaskStore(TaskSource base) {
+        slots = new Task[DEFAULT_CAPACITY];
+        slotOrder = new long[DEFAULT_CAPACITY];
+        slotCount = 0;
+        slotSize = 0;
+        slotById = new IntIntHashMap();
+        this.base = base;
+        this.baseSize = base == null ? 0 : base.size();
+        this.baseDeleted = new BitSet();
+    }
+
+    // Append task, O(1) amortized. Ids must be positive: the filter bitmaps cannot hold others
+    public void add(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (task.getId() <= 0) {
+            throw new IllegalArgumentException("Task ID must be positive: " + task.getId());
+        }
+        if (contains(task.getId())) {
+            throw new IllegalArgumentException("Task with ID " + task.getId() + " already exists");
+        }
+        if (slotCount == slots.length) {
+            resize();
+        }
+        slotById.put(task.getId(), slotCount);
+        slotOrder[slotCount] = nextOrder++;
+        slots[slotCount++] = task;
+        slotSize++;
+    }
+
+    // Look up task by id, O(1) (O(log n) for rows still in the base)
+    public Task get(int id) {
+        int slot = slotById.get(id);
+        if (slot != IntIntHashMap.MISSING) {
+            return slots[slot];
+        }
+        int row = baseRow(id);
+        return row < 0 ? null : materialize(row);
+    }
+
+    public boolean contains(int id) {
+        return slotById.containsKey(id) || baseRow(id) >= 0;
+    }
+
+    // Replace the stored task with the same id in place, keeping its position, O(1)
+    // (O(log n) for rows still in the base)
+    public boolean replace(Task task) {
+        int slot = slotById.get(task.getId());
+        if (slot != IntIntHashMap.MISSING) {
+            slots[slot] = task;
+            return true;
+        }
+        int row = baseRow(task.getId());
+        if (row < 0) {
+            return false;
+        }
+        materialize(row);
+        materialized.set(row, task);
+        return true;
+    }
+
+    // A number that increases with the task's position in iteration order and does not
+    // change while the task stays in the store: base rows count up to -1, later adds from 0.
+    // Long.MIN_VALUE when the id is absent
+    public long orderOf(int id) {
+        int slot = slotById.get(id);
+        if (slot != IntIntHashMap.MISSING) {
+            return slotOrder[slot];
+        }
+        int row = baseRow(id);
+        return row < 0 ? Long.MIN_VALUE : row - (long) baseSize;
+    }
+
+    // Remove task by id, leaving a tombstone so insertion order is kept
+    public Task remove(int id) {
+        int slot = slotById.remove(id);
+        if (slot == IntIntHashMap.MISSING) {
+            return removeBaseRow(id);
+        }
+        Task removed = slots[slot];
+        slots[slot] = null;
+        slotSize--;
+
+        int tombstones = slotCount - slotSize;
+        if (tombstones >= MIN_COMPACT_TOMBSTONES && tombstones > slotSize) {
+            compact();
+        }
+        return removed;
+    }
+
+    public int size() {
+        return baseSize - baseDeletedCount + slotSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public Task[] toArray() {
+        Task[] result = new Task[size()];
+        int index = 0;
+        for (Task task : this) {
+            result[index++] = task;
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new StoreIterator(true);
+    }
+
+    // Iterates without caching base rows, for bulk readers such as snapshot writers.
+    // Tasks that were never accessed come back as fresh copies.
+    public Iterable<Task> uncachedView() {
+        return () -> new StoreIterator(false);
+    }
+
+    // Highest id in the store, reading base ids without loading their rows; 0 when empty
+    public int maxId() {
+        int max = 0;
+        for (int row = 0; row < baseSize; row++) {
+            max = Math.max(max, base.idAt(row));
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots[slot] != null) {
+                max = Math.max(max, slots[slot].getId());
+            }
+        }
+        return max;
+    }
+
+    private int baseRow(int id) {
+        if (base == null) {
+            return -1;
+        }
+        int row = base.rowOf(id);
+        return row < 0 || baseDeleted.get(row) ? -1 : row;
+    }
+
+    private Task removeBaseRow(int id) {
+        int row = baseRow(id);
+        if (row < 0) {
+            return null;
+        }
+        Task removed = materialize(row);
+        materialized.set(row, null);
+        baseDeleted.set(row);
+        baseDeletedCount++;
+        return removed;
+    }
+
+    // Readers racing on one row may both load it; the first to publish wins and the other
+    // returns that instance, so a row is never seen as two different tasks
+    private Task materialize(int row) {
+        AtomicReferenceArray<Task> loaded = materializedRows();
+        Task task = loaded.get(row);
+        if (task == null) {
+            Task fresh = base.load(row);
+            task = loaded.compareAndSet(row, null, fresh) ? fresh : loaded.get(row);
+        }
+        return task;
+    }
+
+    private AtomicReferenceArray<Task> materializedRows() {
+        AtomicReferenceArray<Task> loaded = materialized;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = materialized;
+                if (loaded == null) {
+                    loaded = new AtomicReferenceArray<>(baseSize);
+                    materialized = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // Squeeze out tombstones and re-point the id index, O(n) but amortized over the removals
+    private void compact() {
+        int write = 0;
+        for (int read = 0; read < slotCount; read++) {
+            Task task = slots[read];
+            if (task != null) {
+                if (write != read) {
+                    slots[write] = task;
+                    slotOrder[write] = slotOrder[read];
+                    slotById.put(task.getId(), write);
+                }
+                write++;
+            }
+        }
+        for (int i = write; i < slotCount; i++) {
+            slots[i] = null;
+        }
+        slotCount = write;
+    }
+
+    private void resize() {
+        Task[] newSlots = new Task[slots.length * 2];
+        System.arraycopy(slots, 0, newSlots, 0, slotCount);
+        slots = newSlots;
+        slotOrder = Arrays.copyOf(slotOrder, newSlots.length);
+    }
+
+    // Walks live base rows first, then the appended slots
+    private class StoreIterator implements Iterator<Task> {
+        private final boolean cache;
+        private int row;
+        private int slot;
+
+        StoreIterator(boolean cache) {
+            this.cache = cache;
+            this.row = baseDeleted.nextClearBit(0);
+            this.slot = nextSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < baseSize || slot < slotCount;
+        }
+
+        @Override
+        public Task next() {
+            if (row < baseSize) {
+                Task task;
+                if (cache) {
+                    task = materialize(row);
+                } else {
+                    AtomicReferenceArray<Task> loaded = materialized;
+                    task = loaded == null ? null : loaded.get(row);
+                    if (task == null) {
+                        task = base.load(row);
+                    }
+                }
+                row = baseDeleted.nextClearBit(row + 1);
+                return task;
+            }
+            if (slot >= slotCount) {
+                throw new NoSuchElementException();
+            }
+            Task task = slots[slot];
+            slot = nextSlot(slot + 1);
+            return task;
+        }
+
+        private int nextSlot(int from) {
+            while (from < slotCount && slots[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
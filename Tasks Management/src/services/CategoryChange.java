@@ -0,0 +1,27 @@
+package services;
+
+import models.Category;
+
+// One category added, renamed or deleted
+public final class CategoryChange {
+    public enum Type { ADDED, RENAMED, DELETED }
+
+    private final Type type;
+    private final int categoryId;
+    private final Category category; // null for deletions
+
+    public CategoryChange(Type type, int categoryId, Category category) {
+        this.type = type;
+        this.categoryId = categoryId;
+        this.category = category;
+    }
+
+    public Type getType() { return type; }
+    public int getCategoryId() { return categoryId; }
+    public Category getCategory() { return category; }
+
+    @Override
+    public String toString() {
+        return type + " category " + categoryId;
+    }
+}
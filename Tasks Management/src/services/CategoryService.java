@@ -7,7 +7,13 @@ import java.util.List;
 public interface CategoryService {
     List<Category> getAllCategories();
     void addCategory(Category category);
+
+    // First of count consecutive ids that no category has used and no other caller will be given
+    int reserveCategoryIds(int count);
     void updateCategory(Category category);
     void deleteCategory(int categoryId);
+
+    void addCategoryListener(ChangeListener<CategoryChange> listener);
+    void removeCategoryListener(ChangeListener<CategoryChange> listener);
 }
 
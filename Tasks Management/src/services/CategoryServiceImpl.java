@@ -1,18 +1,60 @@
 package services;
 
 import models.Category;
+import storage.CategoryJournal;
+import storage.EntityJournal;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+// Categories are few and rarely change, so reads take a copy-on-write snapshot without
+// locking and the mutators are synchronized to keep check, write and journal together.
 public class CategoryServiceImpl implements CategoryService {
     private final List<Category> categories;
+    private final CategoryJournal journal; // null when running in memory only
+    private final ChangeBus<CategoryChange> changes = new ChangeBus<>();
+    private final IdAllocator categoryIds;
 
     public CategoryServiceImpl() {
-        this.categories = new ArrayList<>();
+        this.categories = new CopyOnWriteArrayList<>();
+        this.journal = null;
         initializeDefaultCategories();
+        this.categoryIds = new IdAllocator(maxId() + 1);
+    }
+
+    // Restore categories from the journal; seeds the defaults on first run
+    public CategoryServiceImpl(CategoryJournal journal) throws IOException {
+        this.categories = new CopyOnWriteArrayList<>();
+        this.journal = journal;
+
+        if (journal.isEmpty()) {
+            initializeDefaultCategories();
+            journal.writeSnapshot(categories, categories.size());
+        } else {
+            journal.load(new EntityJournal.Handler<Category>() {
+                @Override
+                public void added(Category category) {
+                    categories.add(category);
+                }
+
+                @Override
+                public void updated(Category category) {
+                    replaceCategory(category);
+                }
+
+                @Override
+                public void deleted(int id) {
+                    categories.removeIf(category -> category.getId() == id);
+                }
+            });
+        }
+        // Resume after the saved mark, so a deleted category's id is never reused
+        int next = Math.max(journal.readReservedIds(), maxId() + 1);
+        this.categoryIds = new IdAllocator(next, journal::writeReservedIds, IdAllocator.DEFAULT_BLOCK_SIZE);
     }
 
     private void initializeDefaultCategories() {
@@ -35,7 +77,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    public void addCategory(Category category) {
+    public synchronized void addCategory(Category category) {
         if (category == null) {
             throw new IllegalArgumentException("Category cannot be null");
         }
@@ -43,34 +85,75 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalArgumentException("Category with ID " + category.getId() + " already exists");
         }
         categories.add(category);
+        categoryIds.observe(category.getId());
+        if (journal != null) {
+            journal.recordAdded(category);
+            journal.snapshotIfNeeded(categories, categories.size());
+        }
+        changes.publish(new CategoryChange(CategoryChange.Type.ADDED, category.getId(), category));
     }
 
     @Override
-    public void updateCategory(Category category) {
+    public int reserveCategoryIds(int count) {
+        return categoryIds.allocate(count);
+    }
+
+    @Override
+    public synchronized void updateCategory(Category category) {
         if (category == null) {
             throw new IllegalArgumentException("Category cannot be null");
         }
 
-        boolean updated = false;
-        for (int i = 0; i < categories.size(); i++) {
-            if (categories.get(i).getId() == category.getId()) {
-                categories.set(i, category);
-                updated = true;
-                break;
-            }
-        }
-
-        if (!updated) {
+        if (!replaceCategory(category)) {
             throw new NoSuchElementException("Category with ID " + category.getId() + " not found");
         }
+        if (journal != null) {
+            journal.recordUpdated(category);
+            journal.snapshotIfNeeded(categories, categories.size());
+        }
+        // The title is the only field a category update can change
+        changes.publish(new CategoryChange(CategoryChange.Type.RENAMED, category.getId(), category));
     }
 
     @Override
-    public void deleteCategory(int categoryId) {
+    public synchronized void deleteCategory(int categoryId) {
         boolean removed = categories.removeIf(category -> category.getId() == categoryId);
         if (!removed) {
             throw new NoSuchElementException("Category with ID " + categoryId + " not found");
         }
+        if (journal != null) {
+            journal.recordDeleted(categoryId);
+            journal.snapshotIfNeeded(categories, categories.size());
+        }
+        changes.publish(new CategoryChange(CategoryChange.Type.DELETED, categoryId, null));
+    }
+
+    @Override
+    public void addCategoryListener(ChangeListener<CategoryChange> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeCategoryListener(ChangeListener<CategoryChange> listener) {
+        changes.removeListener(listener);
+    }
+
+    private boolean replaceCategory(Category category) {
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).getId() == category.getId()) {
+                categories.set(i, category);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int maxId() {
+        int max = 0;
+        for (Category category : categories) {
+            max = Math.max(max, category.getId());
+        }
+        return max;
     }
 
     private boolean categoryExists(int id) {
@@ -0,0 +1,73 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Delivers change events to listeners synchronously, on the thread that made the change.
+// Publishing costs nothing while nobody listens. Between beginBatch and endBatch events
+// are buffered and delivered as one list, so a bulk operation notifies once.
+// Not thread-safe for publishing: the owning service publishes under its own lock.
+public class ChangeBus<E> {
+    private final List<ChangeListener<E>> listeners = new CopyOnWriteArrayList<>();
+    private List<E> pending;
+    private int batchDepth;
+
+    public void addListener(ChangeListener<E> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener<E> listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    public void publish(E change) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (batchDepth > 0) {
+            pending.add(change);
+        } else {
+            dispatch(Collections.singletonList(change));
+        }
+    }
+
+    // Batches nest; only the outermost endBatch delivers
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            pending = new ArrayList<>();
+        }
+    }
+
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch in progress");
+        }
+        if (--batchDepth == 0) {
+            List<E> batch = pending;
+            pending = null;
+            if (!batch.isEmpty()) {
+                dispatch(Collections.unmodifiableList(batch));
+            }
+        }
+    }
+
+    private void dispatch(List<E> changes) {
+        for (ChangeListener<E> listener : listeners) {
+            try {
+                listener.changed(changes);
+            } catch (RuntimeException e) {
+                // One failing listener must not stop the others or fail the change itself
+                System.err.println("Error in change listener: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package services;
+
+import java.util.List;
+
+// Receives the changes of one operation, or of a whole batch, in the order they happened
+public interface ChangeListener<E> {
+    void changed(List<E> changes);
+}
@@ -0,0 +1,258 @@
+package services;
+
+import models.Category;
+import models.QueryPlan;
+import models.SearchCriteria;
+import models.SortedTaskView;
+import models.StatisticsIndex;
+import models.Task;
+import models.TaskBatch;
+import models.TaskPage;
+import models.TaskStatistics;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// A TaskServiceImpl shared between threads. Reads run in parallel under a read lock and
+// writes are exclusive, so every call sees one consistent state of the store and all of
+// its indexes together. Building an index lazily inside a read would make that read
+// write, so a read whose index is missing builds just that one under the write lock and
+// then downgrades to the read lock; sorted views are built the same way the first time
+// each one is needed. Snapshot rows are loaded safely by concurrent readers (TaskStore).
+// Change listeners run under the write lock and should only hand work off.
+public class ConcurrentTaskService implements TaskService {
+    private static final Set<TaskServiceImpl.Index> NO_INDEX = Collections.emptySet();
+    private static final Set<TaskServiceImpl.Index> STATISTICS = EnumSet.of(TaskServiceImpl.Index.STATISTICS);
+    private static final Set<TaskServiceImpl.Index> DEADLINE = EnumSet.of(TaskServiceImpl.Index.DEADLINE);
+
+    private final TaskServiceImpl delegate;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private volatile Set<TaskServiceImpl.Index> built = EnumSet.noneOf(TaskServiceImpl.Index.class); // replaced, never changed
+
+    public ConcurrentTaskService(TaskServiceImpl delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        this.delegate = delegate;
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return read(NO_INDEX, delegate::getAllTasks);
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(NO_INDEX, () -> delegate.getTaskById(id));
+    }
+
+    @Override
+    public List<Task> getTasksByCategory(Category category) {
+        return read(NO_INDEX, () -> delegate.getTasksByCategory(category));
+    }
+
+    @Override
+    public void addTask(Task task) {
+        write(() -> delegate.addTask(task));
+    }
+
+    @Override
+    public void addTasks(List<Task> tasks) {
+        write(() -> delegate.addTasks(tasks));
+    }
+
+    @Override
+    public int reserveTaskIds(int count) {
+        return delegate.reserveTaskIds(count); // the id allocator is thread-safe on its own
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> delegate.updateTask(task));
+    }
+
+    @Override
+    public void deleteTask(int taskId) {
+        write(() -> delegate.deleteTask(taskId));
+    }
+
+    @Override
+    public int applyBatch(TaskBatch batch) {
+        return write(() -> delegate.applyBatch(batch));
+    }
+
+    // The filter and change run under the write lock, so they must not call back into this service
+    @Override
+    public int updateWhere(Predicate<Task> filter, Consumer<Task> change) {
+        return write(() -> delegate.updateWhere(filter, change));
+    }
+
+    @Override
+    public int updateMatching(SearchCriteria criteria, Consumer<Task> change) {
+        return write(() -> delegate.updateMatching(criteria, change));
+    }
+
+    @Override
+    public int getTotalTaskCount() {
+        return read(NO_INDEX, delegate::getTotalTaskCount);
+    }
+
+    @Override
+    public int getIncompleteTaskCount() {
+        return read(STATISTICS, delegate::getIncompleteTaskCount);
+    }
+
+    @Override
+    public TaskStatistics getStatistics() {
+        return read(STATISTICS, delegate::getStatistics);
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(Task.SortCriteria criteria) {
+        ensureSortedView(null, criteria);
+        return read(NO_INDEX, () -> delegate.getAllTasksSorted(criteria));
+    }
+
+    @Override
+    public List<Task> getTasksByCategorySorted(Category category, Task.SortCriteria criteria) {
+        ensureSortedView(category, criteria);
+        return read(NO_INDEX, () -> delegate.getTasksByCategorySorted(category, criteria));
+    }
+
+    // The view is live: apart from its version, read it only through this service
+    @Override
+    public SortedTaskView getSortedView(Category category, Task.SortCriteria criteria) {
+        ensureSortedView(category, criteria);
+        return read(NO_INDEX, () -> delegate.getSortedView(category, criteria));
+    }
+
+    @Override
+    public TaskPage getTasksPage(Category category, Task.SortCriteria criteria, int offset, int limit) {
+        ensureSortedView(category, criteria);
+        return read(NO_INDEX, () -> delegate.getTasksPage(category, criteria, offset, limit));
+    }
+
+    @Override
+    public Category getCategoryById(int id) {
+        return delegate.getCategoryById(id); // categories are copy-on-write
+    }
+
+    @Override
+    public List<Task> advancedSearch(SearchCriteria criteria) {
+        return read(TaskServiceImpl.indexesFor(criteria), () -> delegate.advancedSearch(criteria));
+    }
+
+    @Override
+    public TaskPage searchPage(SearchCriteria criteria, Task.SortCriteria order, int offset, int limit) {
+        // A category-only search walks a sorted view and reads no index
+        Set<TaskServiceImpl.Index> needed = TaskServiceImpl.indexesFor(criteria);
+        if (criteria != null && TaskServiceImpl.isCategoryOnly(criteria)) {
+            ensureSortedView(criteria.getCategory(), order);
+            needed = NO_INDEX;
+        }
+        return read(needed, () -> delegate.searchPage(criteria, order, offset, limit));
+    }
+
+    @Override
+    public QueryPlan explain(SearchCriteria criteria) {
+        return read(TaskServiceImpl.indexesFor(criteria), () -> delegate.explain(criteria));
+    }
+
+    @Override
+    public TaskMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void addTaskListener(ChangeListener<TaskChange> listener) {
+        write(() -> delegate.addTaskListener(listener));
+    }
+
+    @Override
+    public void removeTaskListener(ChangeListener<TaskChange> listener) {
+        write(() -> delegate.removeTaskListener(listener));
+    }
+
+    @Override
+    public List<Task> getOverdueTasks() {
+        return read(DEADLINE, delegate::getOverdueTasks);
+    }
+
+    @Override
+    public void forEachIncompleteDeadline(StatisticsIndex.DeadlineVisitor visitor) {
+        read(STATISTICS, () -> {
+            delegate.forEachIncompleteDeadline(visitor);
+            return null;
+        });
+    }
+
+    // Views are never dropped, so once one exists it can be read under the read lock
+    private void ensureSortedView(Category category, Task.SortCriteria criteria) {
+        if (criteria == null || read(NO_INDEX, () -> delegate.hasSortedView(category, criteria))) {
+            return;
+        }
+        write(() -> delegate.getSortedView(category, criteria));
+    }
+
+    // Runs action under the read lock once every index it needs exists
+    private <T> T read(Set<TaskServiceImpl.Index> needed, Supplier<T> action) {
+        if (built.containsAll(needed)) {
+            readLock.lock();
+        } else {
+            writeLock.lock();
+            try {
+                buildIndexes(needed);
+                readLock.lock(); // downgrade, so no write lands between the build and the read
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // Call with the write lock held
+    private void buildIndexes(Set<TaskServiceImpl.Index> needed) {
+        Set<TaskServiceImpl.Index> now = EnumSet.noneOf(TaskServiceImpl.Index.class);
+        now.addAll(built);
+        for (TaskServiceImpl.Index index : needed) {
+            if (!delegate.hasIndex(index)) {
+                delegate.buildIndex(index);
+            }
+            now.add(index);
+        }
+        built = now;
+    }
+
+    private <T> T write(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
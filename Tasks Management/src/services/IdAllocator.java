@@ -0,0 +1,90 @@
+package services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out increasing ids from an atomic counter, O(1) and unique across threads. When
+// persisted, it saves a high-water mark one block ahead of the ids handed out and never
+// returns an id past the saved mark, so ids stay unique across restarts while the store
+// is written once per block instead of once per id; a crash only skips the rest of a block.
+public class IdAllocator {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    public interface Store {
+        void save(int reservedUpTo) throws IOException;
+    }
+
+    private final AtomicInteger next;
+    private final Store store;  // null when nothing is persisted
+    private final int blockSize;
+    private volatile int reservedUpTo; // ids below this are safe to hand out
+
+    // In memory only, starting at next
+    public IdAllocator(int next) {
+        this(next, null, DEFAULT_BLOCK_SIZE);
+    }
+
+    // Starting at next, which must be at or above the last saved mark
+    public IdAllocator(int next, Store store, int blockSize) {
+        if (next < 1) {
+            throw new IllegalArgumentException("Ids start at 1, not " + next);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.next = new AtomicInteger(next);
+        this.store = store;
+        this.blockSize = blockSize;
+        this.reservedUpTo = store == null ? Integer.MAX_VALUE : next;
+    }
+
+    // First of count consecutive ids that nobody else will be given
+    public int allocate(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive: " + count);
+        }
+        int first = next.getAndUpdate(current -> {
+            if (current > Integer.MAX_VALUE - count) {
+                throw new IllegalStateException("Ids exhausted");
+            }
+            return current + count;
+        });
+        reserve(first + count);
+        return first;
+    }
+
+    // Keeps future ids above one that was chosen elsewhere, e.g. read back from storage
+    public void observe(int id) {
+        if (id == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Ids exhausted");
+        }
+        if (id >= next.get()) {
+            int end = next.updateAndGet(current -> Math.max(current, id + 1));
+            reserve(end);
+        }
+    }
+
+    public int peekNext() {
+        return next.get();
+    }
+
+    // Makes sure every id below end is covered by the saved mark before it is handed out
+    private void reserve(int end) {
+        if (end <= reservedUpTo) {
+            return;
+        }
+        synchronized (this) {
+            if (end <= reservedUpTo) {
+                return;
+            }
+            int mark = end > Integer.MAX_VALUE - blockSize ? Integer.MAX_VALUE : end + blockSize;
+            try {
+                store.save(mark);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error saving reserved ids", e);
+            }
+            reservedUpTo = mark;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package services;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one import: how many tasks were added, how many lines were skipped as
+// malformed, and the first few of those errors with their line numbers.
+public final class ImportResult {
+    private final int imported;
+    private final int rejected;
+    private final List<String> errors;
+    private final long elapsedMillis;
+
+    public ImportResult(int imported, int rejected, List<String> errors, long elapsedMillis) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getImported() { return imported; }
+    public int getRejected() { return rejected; }
+    public List<String> getErrors() { return errors; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return "Imported " + imported + " tasks, skipped " + rejected + " lines in " + elapsedMillis + " ms";
+    }
+}
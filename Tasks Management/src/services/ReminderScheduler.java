@@ -0,0 +1,164 @@
+package services;
+
+import models.DeadlineHeap;
+import models.Task;
+import models.TaskQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Fires a reminder for every incomplete task when its deadline arrives, from one timer
+// thread however many tasks are pending. The ids of incomplete tasks wait in a DeadlineHeap
+// that only the timer thread touches. Change events reach it through a lock-free TaskQueue:
+// whichever thread changes a task (an import, a UI action) enqueues it without blocking, and
+// the timer drains the queue in batches, looking each task up to reschedule or cancel it in
+// O(log n). Edits to other fields are not queued. The timer sleeps until the earliest
+// deadline or until something is queued; tasks are looked up again when they fire. Each task
+// fires once per deadline; tasks already past their deadline when scheduled are reported as
+// overdue instead of due.
+public class ReminderScheduler implements ChangeListener<TaskChange> {
+    static final long LATE_MILLIS = 1000; // fired later than this after the deadline counts as overdue
+    private static final int DRAIN_BATCH = 1024;
+
+    // Called on the timer thread
+    public interface Listener {
+        void due(List<Task> tasks);
+        void overdue(List<Task> tasks);
+    }
+
+    private final TaskService taskService;
+    private final Listener listener;
+    private final TaskQueue changed;    // produced by changing threads, consumed by the timer
+    private final DeadlineHeap pending; // timer thread only
+    private final Thread timer;
+    private volatile int pendingCount;
+    private volatile boolean running;
+
+    public ReminderScheduler(TaskService taskService, Listener listener) {
+        if (taskService == null || listener == null) {
+            throw new IllegalArgumentException("Task service and listener cannot be null");
+        }
+        this.taskService = taskService;
+        this.listener = listener;
+        this.changed = new TaskQueue();
+        this.pending = new DeadlineHeap();
+        this.timer = new Thread(this::run, "reminders");
+        this.timer.setDaemon(true);
+    }
+
+    // Returns at once: the timer thread loads the pending deadlines before its first wait
+    public void start() {
+        running = true;
+        timer.start();
+    }
+
+    public void shutdown() {
+        running = false;
+        taskService.removeTaskListener(this);
+        timer.interrupt();
+    }
+
+    // As of the timer's last pass
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    // Runs on the changing thread, under the service's write lock, so it only enqueues
+    @Override
+    public void changed(List<TaskChange> changes) {
+        boolean queued = false;
+        for (TaskChange change : changes) {
+            if (change.getType() != TaskChange.Type.UPDATED
+                    || change.changed(Task.Field.DEADLINE) || change.changed(Task.Field.COMPLETED)) {
+                changed.enqueue(change.getTask());
+                queued = true;
+            }
+        }
+        if (queued) {
+            LockSupport.unpark(timer);
+        }
+    }
+
+    private void run() {
+        if (!load()) {
+            return;
+        }
+        while (running) {
+            // The service is the source of truth, so each queued task is looked up again:
+            // a deleted or completed one is cancelled, any other moved to its current deadline
+            while (changed.drain(this::reschedule, DRAIN_BATCH) == DRAIN_BATCH) {
+                // keep draining until the queue is empty
+            }
+            long now = System.currentTimeMillis();
+            if (pending.peekDeadline() <= now) {
+                fire(now);
+            }
+            pendingCount = pending.size();
+            if (changed.isEmpty()) {
+                if (pending.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(pending.peekDeadline() - now));
+                }
+            }
+            if (Thread.interrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void reschedule(Task task) {
+        Task current = taskService.getTaskById(task.getId());
+        if (current == null || current.isCompleted()) {
+            pending.cancel(task.getId());
+        } else {
+            pending.schedule(current.getId(), current.getDeadline().getTime());
+        }
+    }
+
+    // A task changed since it was scheduled is skipped; its change is still queued or was applied
+    private void fire(long now) {
+        List<Task> due = new ArrayList<>();
+        List<Task> overdue = new ArrayList<>();
+        while (pending.peekDeadline() <= now) {
+            long deadline = pending.peekDeadline();
+            Task task = taskService.getTaskById(pending.poll());
+            if (task != null && !task.isCompleted() && task.getDeadline().getTime() == deadline) {
+                (deadline < now - LATE_MILLIS ? overdue : due).add(task);
+            }
+        }
+        notifyListener(due, overdue);
+    }
+
+    // Subscribes before loading the pending deadlines, so no change in between is missed:
+    // changes made during the load are queued and applied after it
+    private boolean load() {
+        taskService.addTaskListener(this);
+        if (!running) {
+            taskService.removeTaskListener(this); // shut down before the thread got here
+            return false;
+        }
+        try {
+            taskService.forEachIncompleteDeadline(pending::schedule);
+        } catch (RuntimeException e) {
+            System.err.println("Error loading reminders: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void notifyListener(List<Task> due, List<Task> overdue) {
+        try {
+            if (!overdue.isEmpty()) {
+                listener.overdue(overdue);
+            }
+            if (!due.isEmpty()) {
+                listener.due(due);
+            }
+        } catch (RuntimeException e) {
+            // A failing listener must not stop later reminders
+            System.err.println("Error in reminder listener: " + e.getMessage());
+        }
+    }
+}
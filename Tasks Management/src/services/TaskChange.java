@@ -0,0 +1,60 @@
+package services;
+
+import models.Task;
+import models.TaskSnapshot;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// One task added, updated or deleted. Updates carry the fields as they were before and
+// after, and which of them changed.
+public final class TaskChange {
+    public enum Type { ADDED, UPDATED, DELETED }
+
+    private final Type type;
+    private final int taskId;
+    private final Task task;            // for deletions, the task as it was removed
+    private final TaskSnapshot before;  // null for additions
+    private final TaskSnapshot after;   // null for deletions
+    private final Set<Task.Field> changedFields;
+
+    private TaskChange(Type type, int taskId, Task task, TaskSnapshot before, TaskSnapshot after,
+                       Set<Task.Field> changedFields) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.before = before;
+        this.after = after;
+        this.changedFields = Collections.unmodifiableSet(changedFields);
+    }
+
+    public static TaskChange added(Task task, TaskSnapshot after) {
+        return new TaskChange(Type.ADDED, task.getId(), task, null, after, EnumSet.allOf(Task.Field.class));
+    }
+
+    public static TaskChange updated(Task task, TaskSnapshot before, TaskSnapshot after) {
+        Set<Task.Field> changed = before == null ? EnumSet.allOf(Task.Field.class) : before.changedFields(after);
+        return new TaskChange(Type.UPDATED, task.getId(), task, before, after, changed);
+    }
+
+    public static TaskChange deleted(Task removed, TaskSnapshot before) {
+        return new TaskChange(Type.DELETED, removed.getId(), removed, before, null, EnumSet.allOf(Task.Field.class));
+    }
+
+    public Type getType() { return type; }
+    public int getTaskId() { return taskId; }
+    public Task getTask() { return task; }
+    public TaskSnapshot getBefore() { return before; }
+    public TaskSnapshot getAfter() { return after; }
+    public Set<Task.Field> getChangedFields() { return changedFields; }
+
+    public boolean changed(Task.Field field) {
+        return changedFields.contains(field);
+    }
+
+    @Override
+    public String toString() {
+        return type + " task " + taskId + (type == Type.UPDATED ? " " + changedFields : "");
+    }
+}
@@ -0,0 +1,60 @@
+package services;
+
+import models.Task;
+import storage.TaskFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+// Writes every task to a CSV or JSON Lines file that TaskImporter can read back. The task
+// list is taken once, so the file is one consistent state of the service, and lines are
+// formatted into a reused buffer and handed to the writer in blocks.
+public class TaskExporter {
+    private static final int FLUSH_CHARS = 1 << 16;
+
+    private final TaskService taskService;
+
+    public TaskExporter(TaskService taskService) {
+        if (taskService == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        this.taskService = taskService;
+    }
+
+    // The format is chosen by the file extension; the file is replaced only once complete
+    public int exportTo(Path file) throws IOException {
+        TaskFormat format = TaskFormat.forFile(file);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        int count;
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            count = exportTo(writer, format);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    public int exportTo(Writer writer, TaskFormat format) throws IOException {
+        List<Task> tasks = taskService.getAllTasks();
+        StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+        if (format.header() != null) {
+            buffer.append(format.header()).append('\n');
+        }
+        for (Task task : tasks) {
+            format.write(task, buffer);
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_CHARS) {
+                writer.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+        writer.append(buffer);
+        writer.flush();
+        return tasks.size();
+    }
+}
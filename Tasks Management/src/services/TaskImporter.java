@@ -0,0 +1,222 @@
+package services;
+
+import models.Category;
+import models.Task;
+import storage.TaskFormat;
+import storage.TaskRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Streams tasks from a CSV or JSON Lines file into a TaskService in three stages: a
+// reader thread cuts the input into chunks of lines, a pool parses and validates chunks
+// in parallel, and the calling thread resolves categories by title (creating missing
+// ones), gives each chunk a block of new ids and adds it with one addTasks call. At most
+// two chunks per parser are in flight, so a slow store slows the reader down instead of
+// the file piling up in memory. Tasks are added in file order; malformed lines are
+// skipped and reported. A failure part way leaves the chunks added so far in place.
+public class TaskImporter {
+    static final int CHUNK_LINES = 4096;
+    static final int MAX_ERRORS = 100;
+
+    private static class Chunk {
+        final List<TaskRecord> records = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        int rejected;
+    }
+
+    private static final Future<Chunk> END = CompletableFuture.completedFuture(null);
+
+    private final TaskService taskService;
+    private final CategoryService categoryService;
+    private final int parsers;
+
+    public TaskImporter(TaskService taskService, CategoryService categoryService) {
+        this(taskService, categoryService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TaskImporter(TaskService taskService, CategoryService categoryService, int parsers) {
+        if (taskService == null || categoryService == null) {
+            throw new IllegalArgumentException("Services cannot be null");
+        }
+        if (parsers < 1) {
+            throw new IllegalArgumentException("Parser count must be positive: " + parsers);
+        }
+        this.taskService = taskService;
+        this.categoryService = categoryService;
+        this.parsers = parsers;
+    }
+
+    // The format is chosen by the file extension: .csv, .jsonl or .ndjson
+    public ImportResult importFrom(Path file) throws IOException {
+        TaskFormat format = TaskFormat.forFile(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format);
+        }
+    }
+
+    public ImportResult importFrom(BufferedReader reader, TaskFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parsers, runnable -> {
+            Thread thread = new Thread(runnable, "import-parse-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<Chunk>> inFlight = new ArrayBlockingQueue<>(2 * parsers);
+        AtomicReference<IOException> readFailure = new AtomicReference<>();
+        Thread readerThread = new Thread(() -> read(reader, format, pool, inFlight, readFailure), "import-read");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        Map<String, Category> categories = categoriesByTitle();
+        int imported = 0;
+        int rejected = 0;
+        List<String> errors = new ArrayList<>();
+        try {
+            while (true) {
+                Future<Chunk> next = inFlight.take();
+                if (next == END) {
+                    break;
+                }
+                Chunk chunk = next.get();
+                rejected += chunk.rejected;
+                for (String error : chunk.errors) {
+                    if (errors.size() < MAX_ERRORS) {
+                        errors.add(error);
+                    }
+                }
+                if (!chunk.records.isEmpty()) {
+                    insert(chunk.records, categories);
+                    imported += chunk.records.size();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error parsing tasks", e.getCause());
+        } finally {
+            // Unblocks a reader waiting on a full queue when the import stopped early
+            readerThread.interrupt();
+            pool.shutdownNow();
+            joinQuietly(readerThread);
+        }
+        if (readFailure.get() != null) {
+            throw readFailure.get();
+        }
+        return new ImportResult(imported, rejected, errors, System.currentTimeMillis() - start);
+    }
+
+    private void read(BufferedReader reader, TaskFormat format, ExecutorService pool,
+                      BlockingQueue<Future<Chunk>> inFlight, AtomicReference<IOException> failure) {
+        try {
+            try {
+                int firstLine = 1;
+                List<String> lines = new ArrayList<>(CHUNK_LINES);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (firstLine == 1 && lines.isEmpty() && line.startsWith("\uFEFF")) {
+                        line = line.substring(1); // byte order mark
+                    }
+                    lines.add(line);
+                    if (lines.size() == CHUNK_LINES) {
+                        submit(lines, firstLine, format, pool, inFlight);
+                        firstLine += CHUNK_LINES;
+                        lines = new ArrayList<>(CHUNK_LINES);
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    submit(lines, firstLine, format, pool, inFlight);
+                }
+            } catch (IOException e) {
+                failure.set(e);
+            }
+            inFlight.put(END);
+        } catch (InterruptedException e) {
+            // The importer stopped early and is no longer reading the queue
+        }
+    }
+
+    // Blocks while the queue is full: this is the back-pressure on the reader
+    private void submit(List<String> lines, int firstLine, TaskFormat format, ExecutorService pool,
+                        BlockingQueue<Future<Chunk>> inFlight) throws InterruptedException {
+        inFlight.put(pool.submit(() -> parse(lines, firstLine, format)));
+    }
+
+    private static Chunk parse(List<String> lines, int firstLine, TaskFormat format) {
+        Chunk chunk = new Chunk();
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                TaskRecord record = format.parse(lines.get(i));
+                if (record != null) {
+                    chunk.records.add(record);
+                }
+            } catch (IllegalArgumentException e) {
+                chunk.rejected++;
+                if (chunk.errors.size() < MAX_ERRORS) {
+                    chunk.errors.add("Line " + (firstLine + i) + ": " + e.getMessage());
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private void insert(List<TaskRecord> records, Map<String, Category> categories) {
+        int firstId = taskService.reserveTaskIds(records.size());
+        List<Task> batch = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            TaskRecord record = records.get(i);
+            Task task = new Task(firstId + i, record.getDescription(), resolve(record.getCategoryName(), categories),
+                    new Date(record.getDeadline()), record.getImportance());
+            task.setCompleted(record.isCompleted());
+            batch.add(task);
+        }
+        taskService.addTasks(batch);
+    }
+
+    // Titles match ignoring case; the first category with a title wins
+    private Map<String, Category> categoriesByTitle() {
+        Map<String, Category> byTitle = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            byTitle.putIfAbsent(category.getTitle().toLowerCase(), category);
+        }
+        return byTitle;
+    }
+
+    private Category resolve(String title, Map<String, Category> categories) {
+        Category category = categories.get(title.toLowerCase());
+        if (category == null) {
+            category = new Category(categoryService.reserveCategoryIds(1), title);
+            categoryService.addCategory(category);
+            categories.put(title.toLowerCase(), category);
+        }
+        return category;
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
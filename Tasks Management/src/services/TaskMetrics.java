@@ -0,0 +1,149 @@
+package services;
+
+import models.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+// Per-operation counters and latency histograms for a TaskService, plus rows examined
+// versus matched by searches. Recording only touches atomics; nothing is printed unless
+// debug sampling is turned on, and then only for one in every N searches.
+public class TaskMetrics implements TaskMetricsMXBean {
+    public enum Operation { ADD, UPDATE, DELETE, BATCH, SEARCH, SORT }
+
+    private static final String OBJECT_NAME = "todo:type=TaskMetrics";
+
+    private final Map<Operation, LatencyHistogram> latencies;
+    private final AtomicLong rowsExamined;
+    private final AtomicLong rowsMatched;
+    private volatile int debugSampleRate; // 0 disables sampling
+
+    public TaskMetrics() {
+        latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        rowsExamined = new AtomicLong();
+        rowsMatched = new AtomicLong();
+        debugSampleRate = Integer.getInteger("todo.metrics.debugSampleRate", 0);
+    }
+
+    // Record the latency of an operation that started at the given System.nanoTime()
+    public void record(Operation operation, long startNanos) {
+        latencies.get(operation).record(System.nanoTime() - startNanos);
+    }
+
+    public void recordRows(int examined, int matched) {
+        rowsExamined.addAndGet(examined);
+        rowsMatched.addAndGet(matched);
+    }
+
+    // True for the searches whose plan should be logged under debug sampling
+    public boolean shouldSample() {
+        int rate = debugSampleRate;
+        return rate > 0 && latencies.get(Operation.SEARCH).getCount() % rate == 0;
+    }
+
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return collect(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getMeanMicros() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            result.put(entry.getKey().name(), entry.getValue().getMean() / 1000);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getP50Micros() {
+        return collect(histogram -> histogram.valueAtPercentile(50) / 1000);
+    }
+
+    @Override
+    public Map<String, Long> getP99Micros() {
+        return collect(histogram -> histogram.valueAtPercentile(99) / 1000);
+    }
+
+    @Override
+    public Map<String, Long> getMaxMicros() {
+        return collect(histogram -> histogram.getMax() / 1000);
+    }
+
+    @Override
+    public long getRowsExamined() {
+        return rowsExamined.get();
+    }
+
+    @Override
+    public long getRowsMatched() {
+        return rowsMatched.get();
+    }
+
+    @Override
+    public int getDebugSampleRate() {
+        return debugSampleRate;
+    }
+
+    @Override
+    public void setDebugSampleRate(int rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("Sample rate cannot be negative");
+        }
+        debugSampleRate = rate;
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-8s %10s %10s %10s %10s %10s%n", "op", "count", "mean(us)", "p50(us)", "p99(us)", "max(us)"));
+        for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.append(String.format("%-8s %10d %10.1f %10d %10d %10d%n", entry.getKey().name().toLowerCase(),
+                    histogram.getCount(), histogram.getMean() / 1000, histogram.valueAtPercentile(50) / 1000,
+                    histogram.valueAtPercentile(99) / 1000, histogram.getMax() / 1000));
+        }
+        out.append("search rows examined: ").append(rowsExamined.get())
+                .append(", matched: ").append(rowsMatched.get());
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : latencies.values()) {
+            histogram.reset();
+        }
+        rowsExamined.set(0);
+        rowsMatched.set(0);
+    }
+
+    // Expose these metrics on the platform MBean server
+    public void register() throws JMException {
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    }
+
+    private Map<String, Long> collect(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            result.put(entry.getKey().name(), value.applyAsLong(entry.getValue()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package services;
+
+import java.util.Map;
+
+// Management interface for TaskMetrics; latencies are reported in microseconds
+public interface TaskMetricsMXBean {
+    Map<String, Long> getOperationCounts();
+    Map<String, Double> getMeanMicros();
+    Map<String, Long> getP50Micros();
+    Map<String, Long> getP99Micros();
+    Map<String, Long> getMaxMicros();
+
+    long getRowsExamined();
+    long getRowsMatched();
+
+    int getDebugSampleRate();
+    void setDebugSampleRate(int rate);
+
+    String dump();
+    void reset();
+}
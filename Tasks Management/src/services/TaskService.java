@@ -1,23 +1,85 @@
 package services;
 
 import models.Category;
+import models.QueryPlan;
 import models.SearchCriteria;
+import models.SortedTaskView;
+import models.StatisticsIndex;
 import models.Task;
+import models.TaskBatch;
+import models.TaskPage;
+import models.TaskStatistics;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface TaskService {
     List<Task> getAllTasks();
+
+    // The stored task, or null when no task has the id
+    Task getTaskById(int id);
     List<Task> getTasksByCategory(Category category);
     void addTask(Task task);
+
+    // Adds every task in one pass with a single change notification; a null or duplicate
+    // id rejects the whole batch before anything is added
+    void addTasks(List<Task> tasks);
+
+    // First of count consecutive ids that no task uses and no other caller will be given
+    int reserveTaskIds(int count);
+    // Pass an edited copy (Task.copy): it replaces the stored task and is diffed against it,
+    // so listeners and indexes learn exactly which fields changed. Editing the stored task
+    // itself also works, but is reported as changing every field
     void updateTask(Task task);
     void deleteTask(int taskId);
+
+    // Applies the adds, updates and deletes in order as one change: a single pass over the
+    // indexes, one change notification and one journal record. An add of an id that would
+    // already exist, or an add or update with a missing field, rejects the whole batch up
+    // front; updates and deletes of missing tasks are skipped. Returns how many operations
+    // took effect
+    int applyBatch(TaskBatch batch);
+
+    // Edits every task the filter accepts and stores them as one batch; returns how many
+    int updateWhere(Predicate<Task> filter, Consumer<Task> change);
+
+    // Same, for the tasks a search would return, found through the search indexes
+    int updateMatching(SearchCriteria criteria, Consumer<Task> change);
     int getTotalTaskCount();
+    int getIncompleteTaskCount();
+
+    // Totals kept current on every change: overall, incomplete, overdue, per category and per importance
+    TaskStatistics getStatistics();
     List<Task> getAllTasksSorted(Task.SortCriteria criteria);
     List<Task> getTasksByCategorySorted(Category category, Task.SortCriteria criteria);
 
+    // Live sorted view of a category (all tasks when null), kept in order as tasks change
+    SortedTaskView getSortedView(Category category, Task.SortCriteria criteria);
+
+    // Tasks [offset, offset + limit) of a sorted category (all tasks when null), without copying the rest
+    TaskPage getTasksPage(Category category, Task.SortCriteria criteria, int offset, int limit);
+
     Category getCategoryById(int id);
 
     List<Task> advancedSearch(SearchCriteria criteria);
 
+    // Matches [offset, offset + limit) in the given order, kept in a bounded heap instead of sorting them all
+    TaskPage searchPage(SearchCriteria criteria, Task.SortCriteria order, int offset, int limit);
+
+    // Runs the search and reports the chosen index, residual filters and rows examined
+    QueryPlan explain(SearchCriteria criteria);
+
+    TaskMetrics getMetrics();
+
+    // Listeners are called on the changing thread, once per operation or batch
+    void addTaskListener(ChangeListener<TaskChange> listener);
+    void removeTaskListener(ChangeListener<TaskChange> listener);
+
+    List<Task> getOverdueTasks();
+
+    // Id and deadline of every incomplete task, earliest deadline first, without loading
+    // the tasks; the visitor runs inside the service and must not call back into it
+    void forEachIncompleteDeadline(StatisticsIndex.DeadlineVisitor visitor);
+
 }
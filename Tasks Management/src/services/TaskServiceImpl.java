@@ -1,23 +1,77 @@
 package services;
 
 import models.*;
+import storage.EntityJournal;
+import storage.TaskJournal;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class TaskServiceImpl implements TaskService {
-    private final TaskArray tasks;
+    private final TaskStore tasks;
 
-    private final TaskQueue taskQueue;
     private final CategoryService categoryService;
+    private final TaskJournal journal; // null when running in memory only
+    private KeywordIndex keywordIndex;  // built on the first keyword search
+    private DeadlineIndex deadlineIndex; // built on the first deadline query
+    private FilterIndex filterIndex;     // built on the first filtered search
+    private StatisticsIndex statisticsIndex; // built on the first count
+    private final Map<Long, SortedTaskView> sortedViews = new HashMap<>(); // built on first use per (category, criteria)
+    private final IdAllocator taskIds;
+    private final ChangeBus<TaskChange> changes = new ChangeBus<>();
+    private final TaskMetrics metrics = new TaskMetrics();
 
     public TaskServiceImpl(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.tasks = new TaskArray();
-        this.taskQueue = new TaskQueue();
+        this.tasks = new TaskStore();
+        this.journal = null;
         initializeDefaultTasks();
+        this.taskIds = new IdAllocator(tasks.maxId() + 1);
+    }
+
+    // Restore tasks from the journal: the columnar snapshot is mapped and materialized lazily,
+    // only the journal tail is replayed up front. Seeds the defaults on first run.
+    public TaskServiceImpl(CategoryService categoryService, TaskJournal journal) throws IOException {
+        this.categoryService = categoryService;
+        this.journal = journal;
+
+        if (journal.isEmpty()) {
+            this.tasks = new TaskStore();
+            initializeDefaultTasks();
+            journal.writeSnapshot(tasks, tasks.size());
+        } else {
+            this.tasks = new TaskStore(journal.openSnapshot());
+            journal.replayJournal(new EntityJournal.Handler<Task>() {
+                @Override
+                public void added(Task task) {
+                    tasks.add(task);
+                }
+
+                @Override
+                public void updated(Task task) {
+                    tasks.replace(task);
+                }
+
+                @Override
+                public void deleted(int id) {
+                    tasks.remove(id);
+                }
+            });
+        }
+        // Resume after the saved mark, so ids of deleted tasks are never handed out again
+        int next = Math.max(journal.readReservedIds(), tasks.maxId() + 1);
+        this.taskIds = new IdAllocator(next, journal::writeReservedIds, IdAllocator.DEFAULT_BLOCK_SIZE);
     }
 
     private void initializeDefaultTasks() {
@@ -30,7 +84,6 @@ public class TaskServiceImpl implements TaskService {
                     categoryService.getAllCategories().get(2),
                     cal.getTime(), Task.ImportanceLevel.IMPORTANT_URGENT);
             tasks.add(task1);
-            taskQueue.enqueue(task1);
 
             cal.set(2024, Calendar.DECEMBER, 18, 17, 30);
             Task task2 = new Task(2, "Gym Workout",
@@ -49,11 +102,6 @@ public class TaskServiceImpl implements TaskService {
                     categoryService.getAllCategories().get(4),
                     cal.getTime(), Task.ImportanceLevel.NOT_IMPORTANT_NOT_URGENT);
             tasks.add(task4);
-
-            System.out.println("Available tasks for search:");
-            for (int i = 0; i < tasks.size(); i++) {
-                System.out.println("- " + tasks.get(i).getDescription());
-            }
         } catch (Exception e) {
             System.err.println("Error initializing tasks: " + e.getMessage());
         }
@@ -74,6 +122,11 @@ public class TaskServiceImpl implements TaskService {
         return Arrays.asList(tasks.toArray());
     }
 
+    @Override
+    public Task getTaskById(int id) {
+        return tasks.get(id);
+    }
+
     @Override
     public List<Task> getTasksByCategory(Category category) {
         if (category == null) {
@@ -81,8 +134,7 @@ public class TaskServiceImpl implements TaskService {
         }
 
         List<Task> tasksByCategory = new ArrayList<>();
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
+        for (Task task : tasks) {
             if (task.getCategory().getId() == category.getId()) {
                 tasksByCategory.add(task);
             }
@@ -95,8 +147,56 @@ public class TaskServiceImpl implements TaskService {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null");
         }
-        tasks.add(task);
-        taskQueue.enqueue(task);
+        long start = System.nanoTime();
+        storeAdded(task);
+        if (journal != null) {
+            journal.recordAdded(task);
+            journal.snapshotIfNeeded(tasks.uncachedView(), tasks.size());
+        }
+        metrics.record(TaskMetrics.Operation.ADD, start);
+    }
+
+    @Override
+    public void addTasks(List<Task> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+        // Check everything first so a bad batch leaves the store untouched
+        Set<Integer> ids = new HashSet<>();
+        for (Task task : batch) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
+            if (task.getId() <= 0) {
+                throw new IllegalArgumentException("Task ID must be positive: " + task.getId());
+            }
+            if (tasks.contains(task.getId()) || !ids.add(task.getId())) {
+                throw new IllegalArgumentException("Task with ID " + task.getId() + " already exists");
+            }
+        }
+
+        long start = System.nanoTime();
+        changes.beginBatch();
+        try {
+            for (Task task : batch) {
+                storeAdded(task);
+                if (journal != null) {
+                    journal.recordAdded(task);
+                }
+            }
+        } finally {
+            changes.endBatch();
+        }
+        if (journal != null) {
+            journal.snapshotIfNeeded(tasks.uncachedView(), tasks.size());
+        }
+        metrics.record(TaskMetrics.Operation.ADD, start);
+    }
+
+    // Lock-free: the allocator is atomic and persists its own mark
+    @Override
+    public int reserveTaskIds(int count) {
+        return taskIds.allocate(count);
     }
 
 
@@ -106,43 +206,322 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Task cannot be null");
         }
 
-        for (int i = 0; i < tasks.size(); i++) {
-            if (tasks.get(i).getId() == task.getId()) {
-                tasks.remove(i);
-                tasks.add(task);
-                break;
-            }
+        long start = System.nanoTime();
+        if (storeUpdated(task) && journal != null) {
+            journal.recordUpdated(task);
+            journal.snapshotIfNeeded(tasks.uncachedView(), tasks.size());
         }
+        metrics.record(TaskMetrics.Operation.UPDATE, start);
     }
 
     @Override
     public void deleteTask(int taskId) {
-        for (int i = 0; i < tasks.size(); i++) {
-            if (tasks.get(i).getId() == taskId) {
-                tasks.remove(i);
-                break;
+        long start = System.nanoTime();
+        if (storeDeleted(taskId) && journal != null) {
+            journal.recordDeleted(taskId);
+            journal.snapshotIfNeeded(tasks.uncachedView(), tasks.size());
+        }
+        metrics.record(TaskMetrics.Operation.DELETE, start);
+    }
+
+    @Override
+    public int applyBatch(TaskBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+        checkBatch(batch);
+
+        long start = System.nanoTime();
+        List<TaskBatch.Operation> applied = new ArrayList<>(batch.size());
+        changes.beginBatch();
+        try {
+            for (TaskBatch.Operation operation : batch.getOperations()) {
+                if (apply(operation)) {
+                    applied.add(operation);
+                }
             }
+            if (journal != null && !applied.isEmpty()) {
+                journal.recordBatch(applied.size(), record -> {
+                    for (TaskBatch.Operation operation : applied) {
+                        switch (operation.getType()) {
+                            case ADD:
+                                record.added(operation.getTask());
+                                break;
+                            case UPDATE:
+                                record.updated(operation.getTask());
+                                break;
+                            default:
+                                record.deleted(operation.getTaskId());
+                        }
+                    }
+                });
+                journal.snapshotIfNeeded(tasks.uncachedView(), tasks.size());
+            }
+        } finally {
+            changes.endBatch();
         }
+        metrics.record(TaskMetrics.Operation.BATCH, start);
+        return applied.size();
     }
 
     @Override
-    public List<Task> getTasksByCategorySorted(Category category, Task.SortCriteria criteria) {
-        if (category == null) {
-            throw new IllegalArgumentException("Category cannot be null");
+    public int updateWhere(Predicate<Task> filter, Consumer<Task> change) {
+        if (filter == null || change == null) {
+            throw new IllegalArgumentException("Filter and change cannot be null");
         }
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (filter.test(task)) {
+                matches.add(task);
+            }
+        }
+        return updateAll(matches, change);
+    }
 
-        // Filter tasks by category first
-        TaskArray categoryTasks = new TaskArray();
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            if (task.getCategory().getId() == category.getId()) {
-                categoryTasks.add(task);
+    @Override
+    public int updateMatching(SearchCriteria criteria, Consumer<Task> change) {
+        if (criteria == null || change == null) {
+            throw new IllegalArgumentException("Search criteria and change cannot be null");
+        }
+        RoaringBitmap filtered = filterMatches(criteria);
+        List<Task> matches = new ArrayList<>();
+        execute(plan(criteria, filtered), criteria, filtered, matches::add);
+        return updateAll(matches, change);
+    }
+
+    // The change edits copies, so the stored tasks and the indexes that found them are
+    // untouched until the batch applies, and a change that throws leaves everything as it was
+    private int updateAll(List<Task> matches, Consumer<Task> change) {
+        TaskBatch batch = new TaskBatch();
+        for (Task task : matches) {
+            Task copy = task.copy();
+            change.accept(copy);
+            batch.update(copy);
+        }
+        return applyBatch(batch);
+    }
+
+    // Everything the store and indexes would reject partway through is checked up front,
+    // adds against the store as the batch would leave it at that point, so a bad batch
+    // changes nothing
+    private void checkBatch(TaskBatch batch) {
+        Map<Integer, Boolean> present = new HashMap<>();
+        for (TaskBatch.Operation operation : batch.getOperations()) {
+            int id = operation.getTaskId();
+            switch (operation.getType()) {
+                case ADD:
+                    checkFields(operation.getTask());
+                    if (id <= 0) {
+                        throw new IllegalArgumentException("Task ID must be positive: " + id);
+                    }
+                    Boolean exists = present.get(id);
+                    if (exists == null ? tasks.contains(id) : exists) {
+                        throw new IllegalArgumentException("Task with ID " + id + " already exists");
+                    }
+                    present.put(id, true);
+                    break;
+                case DELETE:
+                    present.put(id, false);
+                    break;
+                default:
+                    checkFields(operation.getTask());
+                    break;
+            }
+        }
+    }
+
+    private static void checkFields(Task task) {
+        if (task.getDescription() == null) {
+            throw new IllegalArgumentException("Task " + task.getId() + " has no description");
+        }
+        if (task.getCategory() == null) {
+            throw new IllegalArgumentException("Task " + task.getId() + " has no category");
+        }
+        if (task.getDeadline() == null) {
+            throw new IllegalArgumentException("Task " + task.getId() + " has no deadline");
+        }
+        if (task.getImportance() == null) {
+            throw new IllegalArgumentException("Task " + task.getId() + " has no importance");
+        }
+    }
+
+    private boolean apply(TaskBatch.Operation operation) {
+        switch (operation.getType()) {
+            case ADD:
+                storeAdded(operation.getTask());
+                return true;
+            case UPDATE:
+                return storeUpdated(operation.getTask());
+            default:
+                return storeDeleted(operation.getTaskId());
+        }
+    }
+
+    // Store, index and publish one change; callers journal it and record metrics
+    private void storeAdded(Task task) {
+        tasks.add(task);
+        indexAdded(task);
+        if (changes.hasListeners()) {
+            changes.publish(TaskChange.added(task, TaskSnapshot.of(task)));
+        }
+        taskIds.observe(task.getId());
+    }
+
+    // In place: the task keeps its position, and only indexes over changed fields do work.
+    // An edited copy is diffed against the stored instance; when the stored instance itself
+    // was edited there is nothing left to compare, so every field counts as changed.
+    private boolean storeUpdated(Task task) {
+        Task stored = tasks.get(task.getId());
+        if (stored == null) {
+            return false;
+        }
+        TaskSnapshot before = stored == task ? null : TaskSnapshot.of(stored);
+        TaskSnapshot after = TaskSnapshot.of(task);
+        tasks.replace(task);
+        indexUpdated(task, before == null ? null : before.changedFields(after));
+        if (changes.hasListeners()) {
+            changes.publish(TaskChange.updated(task, before, after));
+        }
+        return true;
+    }
+
+    private boolean storeDeleted(int taskId) {
+        Task removed = tasks.remove(taskId);
+        if (removed == null) {
+            return false;
+        }
+        indexRemoved(taskId);
+        if (changes.hasListeners()) {
+            changes.publish(TaskChange.deleted(removed, TaskSnapshot.of(removed)));
+        }
+        return true;
+    }
+
+    @Override
+    public void addTaskListener(ChangeListener<TaskChange> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeTaskListener(ChangeListener<TaskChange> listener) {
+        changes.removeListener(listener);
+    }
+
+    // Secondary indexes are built lazily, so only the ones already in use need maintenance
+    private void indexAdded(Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.add(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.add(task);
+        }
+        if (filterIndex != null) {
+            filterIndex.add(task);
+        }
+        if (statisticsIndex != null) {
+            statisticsIndex.add(task);
+        }
+        if (!sortedViews.isEmpty()) {
+            long position = tasks.orderOf(task.getId());
+            for (SortedTaskView view : sortedViews.values()) {
+                view.add(task, position);
+            }
+        }
+    }
+
+    // changed is null when the changed fields are unknown (the stored instance was edited),
+    // and then each index compares the task against what it indexed. The deadline index and sorted
+    // views hold the task object itself, so they always see the update; it is O(1) unless
+    // a field they order by changed.
+    private void indexUpdated(Task task, Set<Task.Field> changed) {
+        if (keywordIndex != null && touches(changed, Task.Field.DESCRIPTION)) {
+            keywordIndex.update(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.update(task);
+        }
+        if (filterIndex != null
+                && touches(changed, Task.Field.CATEGORY, Task.Field.IMPORTANCE, Task.Field.COMPLETED)) {
+            filterIndex.update(task);
+        }
+        if (statisticsIndex != null && touches(changed, Task.Field.CATEGORY, Task.Field.IMPORTANCE,
+                Task.Field.COMPLETED, Task.Field.DEADLINE)) {
+            statisticsIndex.update(task);
+        }
+        if (!sortedViews.isEmpty()) {
+            // The task keeps its place in the store, but may have moved to another category
+            long position = tasks.orderOf(task.getId());
+            for (SortedTaskView view : sortedViews.values()) {
+                view.update(task, position);
+            }
+        }
+    }
+
+    private static boolean touches(Set<Task.Field> changed, Task.Field... fields) {
+        if (changed == null) {
+            return true;
+        }
+        for (Task.Field field : fields) {
+            if (changed.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void indexRemoved(int taskId) {
+        if (keywordIndex != null) {
+            keywordIndex.remove(taskId);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.remove(taskId);
+        }
+        if (filterIndex != null) {
+            filterIndex.remove(taskId);
+        }
+        if (statisticsIndex != null) {
+            statisticsIndex.remove(taskId);
+        }
+        for (SortedTaskView view : sortedViews.values()) {
+            view.remove(taskId);
+        }
+    }
+
+    @Override
+    public int getIncompleteTaskCount() {
+        return statisticsIndex().getIncomplete();
+    }
+
+    @Override
+    public TaskStatistics getStatistics() {
+        return statisticsIndex().snapshot(System.currentTimeMillis());
+    }
+
+    @Override
+    public List<Task> getOverdueTasks() {
+        List<Task> overdue = new ArrayList<>();
+        for (Task task : deadlineIndex().before(System.currentTimeMillis())) {
+            if (!task.isCompleted()) {
+                overdue.add(task);
             }
         }
+        return overdue;
+    }
 
-        // Sort the filtered tasks
-        categoryTasks.sort(criteria);
-        return Arrays.asList(categoryTasks.toArray());
+    @Override
+    public void forEachIncompleteDeadline(StatisticsIndex.DeadlineVisitor visitor) {
+        statisticsIndex().forEachIncomplete(visitor);
+    }
+
+    @Override
+    public List<Task> getTasksByCategorySorted(Category category, Task.SortCriteria criteria) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+        long start = System.nanoTime();
+        List<Task> sorted = sortedView(category.getId(), criteria).toList();
+        metrics.record(TaskMetrics.Operation.SORT, start);
+        return sorted;
     }
 
     @Override
@@ -153,14 +532,109 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public List<Task> getAllTasksSorted(Task.SortCriteria criteria) {
-        TaskArray sortedTasks = new TaskArray();
-        for (int i = 0; i < tasks.size(); i++) {
-            sortedTasks.add(tasks.get(i));
+        long start = System.nanoTime();
+        List<Task> sorted = sortedView(SortedTaskView.ALL_CATEGORIES, criteria).toList();
+        metrics.record(TaskMetrics.Operation.SORT, start);
+        return sorted;
+    }
+
+    @Override
+    public TaskPage getTasksPage(Category category, Task.SortCriteria criteria, int offset, int limit) {
+        checkPage(criteria, offset, limit);
+        long start = System.nanoTime();
+        SortedTaskView view = getSortedView(category, criteria);
+        List<Task> page = new ArrayList<>(Math.max(0, Math.min(limit, view.size() - offset)));
+        if (offset < view.size()) {
+            Iterator<Task> ordered = view.iterator(offset);
+            while (ordered.hasNext() && page.size() < limit) {
+                page.add(ordered.next());
+            }
+        }
+        metrics.record(TaskMetrics.Operation.SORT, start);
+        return new TaskPage(page, offset, view.size());
+    }
+
+    private static void checkPage(Task.SortCriteria criteria, int offset, int limit) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Sort criteria cannot be null");
+        }
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+    }
+
+    @Override
+    public SortedTaskView getSortedView(Category category, Task.SortCriteria criteria) {
+        return sortedView(category == null ? SortedTaskView.ALL_CATEGORIES : category.getId(), criteria);
+    }
+
+    boolean hasSortedView(Category category, Task.SortCriteria criteria) {
+        int categoryId = category == null ? SortedTaskView.ALL_CATEGORIES : category.getId();
+        return criteria != null && sortedViews.containsKey(viewKey(categoryId, criteria));
+    }
+
+    // The lazily built indexes. A read that finds its index missing builds it, so
+    // ConcurrentTaskService builds the ones a read needs under its write lock first
+    enum Index { KEYWORD, DEADLINE, FILTER, STATISTICS }
+
+    boolean hasIndex(Index index) {
+        switch (index) {
+            case KEYWORD: return keywordIndex != null;
+            case DEADLINE: return deadlineIndex != null;
+            case FILTER: return filterIndex != null;
+            default: return statisticsIndex != null;
+        }
+    }
+
+    void buildIndex(Index index) {
+        switch (index) {
+            case KEYWORD: keywordIndex(); break;
+            case DEADLINE: deadlineIndex(); break;
+            case FILTER: filterIndex(); break;
+            default: statisticsIndex();
+        }
+    }
+
+    // Indexes advancedSearch and explain may read for these criteria
+    static Set<Index> indexesFor(SearchCriteria criteria) {
+        Set<Index> needed = EnumSet.noneOf(Index.class);
+        if (criteria == null) {
+            return needed;
+        }
+        if (hasKeyword(criteria)) {
+            needed.add(Index.KEYWORD);
+        }
+        if (hasDateRange(criteria)) {
+            needed.add(Index.DEADLINE);
+        }
+        if (criteria.getCategory() != null || criteria.getImportance() != null || criteria.getIsCompleted() != null) {
+            needed.add(Index.FILTER);
         }
-        sortedTasks.sort(criteria);
-        return Arrays.asList(sortedTasks.toArray());
+        return needed;
     }
 
+    private static long viewKey(int categoryId, Task.SortCriteria criteria) {
+        return ((long) categoryId << 8) | criteria.ordinal();
+    }
+
+    // Built with one sort the first time it is asked for, then kept current by indexAdded/Updated/Removed
+    private SortedTaskView sortedView(int categoryId, Task.SortCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Sort criteria cannot be null");
+        }
+        long key = viewKey(categoryId, criteria);
+        SortedTaskView view = sortedViews.get(key);
+        if (view == null) {
+            view = new SortedTaskView(categoryId, criteria);
+            for (Task task : tasks) {
+                if (view.covers(task)) {
+                    view.add(task, tasks.orderOf(task.getId()));
+                }
+            }
+            sortedViews.put(key, view);
+        }
+        return view;
+    }
 
     private void sortTasks(List<Task> taskList, Task.SortCriteria criteria) {
         if (taskList == null || taskList.isEmpty()) return;
@@ -237,68 +711,236 @@ public class TaskServiceImpl implements TaskService {
         if (criteria == null) {
             throw new IllegalArgumentException("Search criteria cannot be null");
         }
-
+        long start = System.nanoTime();
+        RoaringBitmap filtered = filterMatches(criteria);
+        QueryPlan plan = plan(criteria, filtered);
         List<Task> results = new ArrayList<>();
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            if (matchesCriteria(task, criteria)) {
-                results.add(task);
+        execute(plan, criteria, filtered, results::add);
+        recordSearch(plan, start);
+        return results;
+    }
+
+    @Override
+    public TaskPage searchPage(SearchCriteria criteria, Task.SortCriteria order, int offset, int limit) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        checkPage(order, offset, limit);
+
+        // A category-only search is a walk over that category's sorted view
+        if (isCategoryOnly(criteria)) {
+            return getTasksPage(criteria.getCategory(), order, offset, limit);
+        }
+
+        long start = System.nanoTime();
+        RoaringBitmap filtered = filterMatches(criteria);
+        QueryPlan plan = plan(criteria, filtered);
+        BoundedTaskHeap top = new BoundedTaskHeap((int) Math.min((long) offset + limit, tasks.size()), order.comparator());
+        execute(plan, criteria, filtered, top::offer);
+        recordSearch(plan, start);
+        return new TaskPage(top.drainSorted(offset), offset, plan.getRowsMatched());
+    }
+
+    @Override
+    public QueryPlan explain(SearchCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        long start = System.nanoTime();
+        RoaringBitmap filtered = filterMatches(criteria);
+        QueryPlan plan = plan(criteria, filtered);
+        execute(plan, criteria, filtered, task -> { });
+        recordSearch(plan, start);
+        return plan;
+    }
+
+    private void recordSearch(QueryPlan plan, long start) {
+        metrics.record(TaskMetrics.Operation.SEARCH, start);
+        metrics.recordRows(plan.getRowsExamined(), plan.getRowsMatched());
+        if (metrics.shouldSample()) {
+            System.err.println("[search sample]\n" + plan.explain());
+        }
+    }
+
+    @Override
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Category, importance and completion filters combined by bitmap AND, or null when none is set
+    private RoaringBitmap filterMatches(SearchCriteria criteria) {
+        if (criteria.getCategory() == null && criteria.getImportance() == null && criteria.getIsCompleted() == null) {
+            return null;
+        }
+        Integer categoryId = criteria.getCategory() == null ? null : criteria.getCategory().getId();
+        return filterIndex().match(categoryId, criteria.getImportance(), criteria.getIsCompleted());
+    }
+
+    // Estimate how many candidates each usable index would produce and drive the search
+    // from the smallest; every other predicate becomes a residual filter
+    private QueryPlan plan(SearchCriteria criteria, RoaringBitmap filtered) {
+        QueryPlan plan = new QueryPlan();
+        plan.consider(QueryPlan.Driver.FULL_SCAN, tasks.size());
+        if (hasKeyword(criteria)) {
+            plan.consider(QueryPlan.Driver.KEYWORD, keywordIndex().estimate(criteria.getKeyword()));
+        }
+        if (hasDateRange(criteria)) {
+            plan.consider(QueryPlan.Driver.DEADLINE_RANGE, deadlineIndex().countBetween(
+                    criteria.getStartDate().getTime(), criteria.getEndDate().getTime()));
+        }
+        if (filtered != null) {
+            plan.consider(QueryPlan.Driver.FILTERS, filtered.cardinality());
+        }
+
+        QueryPlan.Driver driver = plan.getDriver();
+        if (hasKeyword(criteria) && driver != QueryPlan.Driver.KEYWORD) {
+            plan.addResidualFilter("keyword");
+        }
+        if (hasDateRange(criteria) && driver != QueryPlan.Driver.DEADLINE_RANGE) {
+            plan.addResidualFilter("date range");
+        }
+        if (filtered != null && driver != QueryPlan.Driver.FILTERS) {
+            plan.addResidualFilter(driver == QueryPlan.Driver.FULL_SCAN ? "filters" : "filter bitmap probe");
+        }
+        return plan;
+    }
+
+    private void execute(QueryPlan plan, SearchCriteria criteria, RoaringBitmap filtered, Consumer<Task> results) {
+        switch (plan.getDriver()) {
+            case KEYWORD:
+                // The index already verified the substring, and the bitmap probe avoids
+                // loading tasks that fail the other filters
+                for (int id : keywordIndex().search(criteria.getKeyword())) {
+                    plan.recordExamined();
+                    if (filtered == null || filtered.contains(id)) {
+                        collect(tasks.get(id), criteria, false, plan, results);
+                    }
+                }
+                break;
+            case DEADLINE_RANGE:
+                for (Task task : deadlineIndex().between(
+                        criteria.getStartDate().getTime(), criteria.getEndDate().getTime())) {
+                    plan.recordExamined();
+                    if (filtered == null || filtered.contains(task.getId())) {
+                        collect(task, criteria, true, plan, results);
+                    }
+                }
+                break;
+            case FILTERS:
+                for (int id : filtered.toArray()) {
+                    plan.recordExamined();
+                    collect(tasks.get(id), criteria, true, plan, results);
+                }
+                break;
+            default:
+                for (Task task : tasks) {
+                    plan.recordExamined();
+                    collect(task, criteria, true, plan, results);
+                }
+        }
+    }
+
+    private void collect(Task task, SearchCriteria criteria, boolean checkKeyword, QueryPlan plan, Consumer<Task> results) {
+        if (matchesCriteria(task, criteria, checkKeyword)) {
+            plan.recordMatched();
+            results.accept(task);
+        }
+    }
+
+    static boolean isCategoryOnly(SearchCriteria criteria) {
+        return !hasKeyword(criteria) && !hasDateRange(criteria)
+                && criteria.getImportance() == null && criteria.getIsCompleted() == null;
+    }
+
+    private static boolean hasKeyword(SearchCriteria criteria) {
+        return criteria.getKeyword() != null && !criteria.getKeyword().isEmpty();
+    }
+
+    private static boolean hasDateRange(SearchCriteria criteria) {
+        return criteria.getStartDate() != null && criteria.getEndDate() != null;
+    }
+
+    private FilterIndex filterIndex() {
+        if (filterIndex == null) {
+            FilterIndex index = new FilterIndex();
+            for (Task task : tasks) {
+                index.add(task);
             }
+            filterIndex = index;
         }
-        return results;
+        return filterIndex;
     }
 
+    private StatisticsIndex statisticsIndex() {
+        if (statisticsIndex == null) {
+            StatisticsIndex index = new StatisticsIndex();
+            for (Task task : tasks.uncachedView()) {
+                index.add(task);
+            }
+            statisticsIndex = index;
+        }
+        return statisticsIndex;
+    }
 
-    public Task getNextScheduledTask() {
-        if (!taskQueue.isEmpty()) {
-            return taskQueue.peek();
+    private DeadlineIndex deadlineIndex() {
+        if (deadlineIndex == null) {
+            DeadlineIndex index = new DeadlineIndex();
+            for (Task task : tasks) {
+                index.add(task);
+            }
+            deadlineIndex = index;
+        }
+        return deadlineIndex;
+    }
+
+    private KeywordIndex keywordIndex() {
+        if (keywordIndex == null) {
+            KeywordIndex index = new KeywordIndex();
+            for (Task task : tasks.uncachedView()) {
+                index.add(task);
+            }
+            keywordIndex = index;
         }
-        return null;
+        return keywordIndex;
     }
 
-    private boolean matchesCriteria(Task task, SearchCriteria criteria) {
-        // Start assuming it matches
-        boolean matches = true;
 
+    // The incomplete task due first, or null when every task is complete
+    public Task getNextScheduledTask() {
+        int id = statisticsIndex().nextDueId();
+        return id < 0 ? null : tasks.get(id);
+    }
+
+    private boolean matchesCriteria(Task task, SearchCriteria criteria, boolean checkKeyword) {
         // Check keyword
-        if (criteria.getKeyword() != null && !criteria.getKeyword().isEmpty()) {
-            String taskDesc = task.getDescription().toLowerCase();
-            String keyword = criteria.getKeyword().toLowerCase();
-            boolean keywordMatch = taskDesc.contains(keyword);
-            System.out.println("Keyword match: '" + taskDesc + "' contains '" + keyword + "': " + keywordMatch);
-            matches &= keywordMatch;
+        if (checkKeyword && criteria.getKeyword() != null && !criteria.getKeyword().isEmpty()) {
+            if (!task.getDescription().toLowerCase().contains(criteria.getKeyword().toLowerCase())) {
+                return false;
+            }
         }
 
         // Check category
-        if (criteria.getCategory() != null) {
-            boolean categoryMatch = task.getCategory().getId() == criteria.getCategory().getId();
-            System.out.println("Category match: " + categoryMatch);
-            matches &= categoryMatch;
+        if (criteria.getCategory() != null && task.getCategory().getId() != criteria.getCategory().getId()) {
+            return false;
         }
 
         // Check importance
-        if (criteria.getImportance() != null) {
-            boolean importanceMatch = task.getImportance() == criteria.getImportance();
-            System.out.println("Importance match: " + importanceMatch);
-            matches &= importanceMatch;
+        if (criteria.getImportance() != null && task.getImportance() != criteria.getImportance()) {
+            return false;
         }
 
         // Check completion status
-        if (criteria.getIsCompleted() != null) {
-            boolean statusMatch = task.isCompleted() == criteria.getIsCompleted();
-            System.out.println("Status match: " + statusMatch);
-            matches &= statusMatch;
+        if (criteria.getIsCompleted() != null && task.isCompleted() != criteria.getIsCompleted()) {
+            return false;
         }
 
         // Only check date range if both dates are provided
         if (criteria.getStartDate() != null && criteria.getEndDate() != null) {
-            boolean dateMatch = task.getDeadline().after(criteria.getStartDate()) &&
+            return task.getDeadline().after(criteria.getStartDate()) &&
                     task.getDeadline().before(criteria.getEndDate());
-            System.out.println("Date range match: " + dateMatch);
-            matches &= dateMatch;
         }
 
-        return matches;
+        return true;
     }
 
     private boolean basicSearch(String text, String pattern) {
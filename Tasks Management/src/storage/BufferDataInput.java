@@ -0,0 +1,162 @@
+package storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// DataInput over a ByteBuffer, optionally refilled from a channel, with an ASCII
+// fast path for readUTF, which is where most replay time goes with DataInputStream.
+class BufferDataInput implements DataInput {
+    private ByteBuffer buffer;
+    private final ReadableByteChannel channel; // null when reading a fixed buffer
+    private byte[] scratch = new byte[64];
+
+    BufferDataInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.channel = null;
+    }
+
+    BufferDataInput(ReadableByteChannel channel, int bufferSize) {
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+        this.channel = channel;
+    }
+
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    // Make at least n bytes readable, pulling more from the channel if there is one
+    private void ensure(int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        if (channel == null) {
+            throw new EOFException();
+        }
+        if (buffer.capacity() < n) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(n, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < n) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        int length = readUnsignedShort();
+        ensure(length);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(scratch, 0, length);
+
+        for (int i = 0; i < length; i++) {
+            if (scratch[i] < 0) {
+                // Non-ASCII: let the JDK decode the modified UTF-8
+                byte[] encoded = new byte[length + Short.BYTES];
+                encoded[0] = (byte) (length >>> 8);
+                encoded[1] = (byte) length;
+                System.arraycopy(scratch, 0, encoded, Short.BYTES, length);
+                return DataInputStream.readUTF(new DataInputStream(new ByteArrayInputStream(encoded)));
+            }
+        }
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensure(1);
+            int chunk = Math.min(len, buffer.remaining());
+            buffer.get(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        ensure(Math.min(n, 1));
+        int skipped = Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensure(Byte.BYTES);
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensure(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException("readLine");
+    }
+}
@@ -0,0 +1,26 @@
+package storage;
+
+import models.Category;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class CategoryJournal extends EntityJournal<Category> {
+
+    public CategoryJournal(Path directory) throws IOException {
+        super(directory, "categories", DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    @Override
+    protected void writeEntity(DataOutput out, Category category) throws IOException {
+        out.writeInt(category.getId());
+        out.writeUTF(category.getTitle());
+    }
+
+    @Override
+    protected Category readEntity(DataInput in) throws IOException {
+        return new Category(in.readInt(), in.readUTF());
+    }
+}
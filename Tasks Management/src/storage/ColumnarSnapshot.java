@@ -0,0 +1,262 @@
+package storage;
+
+import models.Category;
+import models.Task;
+import models.TaskSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.IntFunction;
+
+// Memory-mapped, column-per-field task snapshot. Opening maps the file and reads
+// only the header; Task objects are built row by row on access.
+//
+// Layout (little endian): header, then one fixed-width column per field in row
+// order, a rows-by-id column for lookups, and finally the UTF-8 description heap.
+//   header       magic int, version int, generation long, rows int, reserved int, heap bytes long
+//   deadlines    long[rows]   epoch millis
+//   descOffsets  long[rows+1] start of each description in the heap
+//   ids          int[rows]
+//   categoryIds  int[rows]
+//   idOrder      int[rows]    rows sorted by id, for binary search
+//   importance   byte[rows]   ImportanceLevel ordinal
+//   completed    byte[rows]
+//   heap         byte[heap bytes]
+public class ColumnarSnapshot implements TaskSource {
+    private static final int MAGIC = 0x54434F4C; // "TCOL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final Task.ImportanceLevel[] IMPORTANCE_LEVELS = Task.ImportanceLevel.values();
+
+    private final long generation;
+    private final int rows;
+    private final LongBuffer deadlines;
+    private final LongBuffer descOffsets;
+    private final IntBuffer ids;
+    private final IntBuffer categoryIds;
+    private final IntBuffer idOrder;
+    private final ByteBuffer importance;
+    private final ByteBuffer completed;
+    private final ByteBuffer heap;
+    private final IntFunction<Category> categoryResolver;
+
+    private ColumnarSnapshot(FileChannel channel, IntFunction<Category> categoryResolver) throws IOException {
+        this.categoryResolver = categoryResolver;
+
+        ByteBuffer header = map(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a columnar task snapshot");
+        }
+        generation = header.getLong();
+        rows = header.getInt();
+        header.getInt();
+        long heapSize = header.getLong();
+
+        long offset = HEADER_SIZE;
+        deadlines = map(channel, offset, 8L * rows).asLongBuffer();
+        offset += 8L * rows;
+        descOffsets = map(channel, offset, 8L * (rows + 1)).asLongBuffer();
+        offset += 8L * (rows + 1);
+        ids = map(channel, offset, 4L * rows).asIntBuffer();
+        offset += 4L * rows;
+        categoryIds = map(channel, offset, 4L * rows).asIntBuffer();
+        offset += 4L * rows;
+        idOrder = map(channel, offset, 4L * rows).asIntBuffer();
+        offset += 4L * rows;
+        importance = map(channel, offset, rows);
+        offset += rows;
+        completed = map(channel, offset, rows);
+        offset += rows;
+        heap = map(channel, offset, heapSize);
+    }
+
+    public static ColumnarSnapshot open(Path file, IntFunction<Category> categoryResolver) throws IOException {
+        // The mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ColumnarSnapshot(channel, categoryResolver);
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public int idAt(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public int rowOf(int id) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = idOrder.get(mid);
+            int midId = ids.get(row);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Task load(int row) {
+        Task task = new Task(ids.get(row), description(row),
+                categoryResolver.apply(categoryIds.get(row)),
+                new Date(deadlines.get(row)),
+                IMPORTANCE_LEVELS[importance.get(row)]);
+        task.setCompleted(completed.get(row) != 0);
+        return task;
+    }
+
+    private String description(int row) {
+        long start = descOffsets.get(row);
+        int length = (int) (descOffsets.get(row + 1) - start);
+        byte[] bytes = new byte[length];
+        heap.get((int) start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Write tasks column by column in a single pass; each column streams to its own file region
+    public static void write(Path file, Iterable<Task> tasks, int count, long generation) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long offset = HEADER_SIZE;
+            ColumnWriter deadlineColumn = new ColumnWriter(channel, offset);
+            offset += 8L * count;
+            ColumnWriter offsetColumn = new ColumnWriter(channel, offset);
+            offset += 8L * (count + 1);
+            ColumnWriter idColumn = new ColumnWriter(channel, offset);
+            offset += 4L * count;
+            ColumnWriter categoryColumn = new ColumnWriter(channel, offset);
+            offset += 4L * count;
+            ColumnWriter idOrderColumn = new ColumnWriter(channel, offset);
+            offset += 4L * count;
+            ColumnWriter importanceColumn = new ColumnWriter(channel, offset);
+            offset += count;
+            ColumnWriter completedColumn = new ColumnWriter(channel, offset);
+            offset += count;
+            ColumnWriter heapColumn = new ColumnWriter(channel, offset);
+
+            // id in the high half, row in the low half, so sorting gives rows in id order
+            long[] idRows = new long[count];
+            long heapSize = 0;
+            int row = 0;
+            for (Task task : tasks) {
+                if (row == count) {
+                    throw new IllegalStateException("More tasks than the expected " + count);
+                }
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                deadlineColumn.putLong(task.getDeadline().getTime());
+                offsetColumn.putLong(heapSize);
+                idColumn.putInt(task.getId());
+                categoryColumn.putInt(task.getCategory().getId());
+                importanceColumn.put((byte) task.getImportance().ordinal());
+                completedColumn.put((byte) (task.isCompleted() ? 1 : 0));
+                heapColumn.put(description);
+                heapSize += description.length;
+                idRows[row] = ((long) task.getId() << 32) | row;
+                row++;
+            }
+            if (row != count) {
+                throw new IllegalStateException("Expected " + count + " tasks but got " + row);
+            }
+            offsetColumn.putLong(heapSize);
+
+            Arrays.sort(idRows);
+            for (long idRow : idRows) {
+                idOrderColumn.putInt((int) idRow);
+            }
+
+            for (ColumnWriter column : new ColumnWriter[]{deadlineColumn, offsetColumn, idColumn,
+                    categoryColumn, idOrderColumn, importanceColumn, completedColumn, heapColumn}) {
+                column.flush();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(count).putInt(0).putLong(heapSize);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot column too large to map: " + size + " bytes");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Buffered sequential writer for one column region
+    private static class ColumnWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ColumnWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(bytes.length - offset, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+}
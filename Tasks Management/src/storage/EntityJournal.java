@@ -0,0 +1,277 @@
+package storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Snapshot file plus journal tail for one kind of entity. Startup loads the
+// snapshot and replays the journal on top; once the journal grows past the
+// snapshot threshold the owner writes a new snapshot and the journal restarts.
+public abstract class EntityJournal<T> implements Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x54534E50; // "TSNP"
+    private static final int IDS_MAGIC = 0x54494453;      // "TIDS"
+    private static final byte RECORD_ADD = 1;
+    private static final byte RECORD_UPDATE = 2;
+    private static final byte RECORD_DELETE = 3;
+    private static final byte RECORD_BATCH = 4;
+
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+    public static final int DEFAULT_SNAPSHOT_THRESHOLD = 100_000;
+
+    public interface Handler<T> {
+        void added(T entity);
+        void updated(T entity);
+        void deleted(int id);
+    }
+
+    protected final Path directory;
+    private final Path snapshotFile;
+    private final Path idsFile;
+    private final Journal journal;
+    private final int snapshotThreshold;
+
+    protected EntityJournal(Path directory, String name, long syncIntervalMillis, int snapshotThreshold)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.snapshotFile = directory.resolve(name + ".snapshot");
+        this.idsFile = directory.resolve(name + ".ids");
+        this.journal = new Journal(directory.resolve(name + ".journal"), syncIntervalMillis);
+        this.snapshotThreshold = snapshotThreshold;
+    }
+
+    protected abstract void writeEntity(DataOutput out, T entity) throws IOException;
+
+    protected abstract T readEntity(DataInput in) throws IOException;
+
+    // True when nothing has ever been persisted here
+    public boolean isEmpty() {
+        return journal.isNew() && !hasSnapshot();
+    }
+
+    protected boolean hasSnapshot() {
+        return Files.exists(snapshotFile);
+    }
+
+    // Load the snapshot, then replay the journal records written after it
+    public void load(Handler<T> handler) throws IOException {
+        replayJournal(readSnapshot(handler), handler);
+    }
+
+    // Feed every snapshot entity to the handler; returns the snapshot generation or -1
+    protected long readSnapshot(Handler<T> handler) throws IOException {
+        long snapshotGeneration = -1;
+        if (Files.exists(snapshotFile)) {
+            try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+                BufferDataInput in = new BufferDataInput(channel, 1 << 16);
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a snapshot file: " + snapshotFile);
+                }
+                snapshotGeneration = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    handler.added(readEntity(in));
+                }
+            }
+        }
+        return snapshotGeneration;
+    }
+
+    // Replay the journal records written after the snapshot with the given generation
+    protected void replayJournal(long snapshotGeneration, Handler<T> handler) throws IOException {
+        if (journal.getGeneration() < snapshotGeneration) {
+            // Crashed between writing the snapshot and restarting the journal;
+            // the snapshot already contains every journal record
+            journal.reset(snapshotGeneration);
+            return;
+        }
+
+        journal.replay((type, payload) -> {
+            if (type != RECORD_BATCH) {
+                replayChange(type, payload, handler);
+                return 1;
+            }
+            int count = payload.readInt();
+            for (int i = 0; i < count; i++) {
+                replayChange(payload.readByte(), payload, handler);
+            }
+            return count;
+        });
+    }
+
+    private void replayChange(byte type, DataInput payload, Handler<T> handler) throws IOException {
+        switch (type) {
+            case RECORD_ADD:
+                handler.added(readEntity(payload));
+                break;
+            case RECORD_UPDATE:
+                handler.updated(readEntity(payload));
+                break;
+            case RECORD_DELETE:
+                handler.deleted(payload.readInt());
+                break;
+            default:
+                throw new IOException("Unknown journal record type: " + type);
+        }
+    }
+
+    public void recordAdded(T entity) {
+        append(RECORD_ADD, out -> writeEntity(out, entity));
+    }
+
+    public void recordUpdated(T entity) {
+        append(RECORD_UPDATE, out -> writeEntity(out, entity));
+    }
+
+    public void recordDeleted(int id) {
+        append(RECORD_DELETE, out -> out.writeInt(id));
+    }
+
+    // Several changes as one record, so replay applies all of them or, if the record was
+    // torn, none. The writer plays exactly count changes into the handler it is given.
+    public void recordBatch(int count, Consumer<Handler<T>> writer) {
+        try {
+            journal.append(RECORD_BATCH, count, out -> {
+                out.writeInt(count);
+                BatchWriter batch = new BatchWriter(out);
+                try {
+                    writer.accept(batch);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (batch.written != count) {
+                    throw new IllegalStateException("Batch declared " + count + " changes but wrote " + batch.written);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending to journal", e);
+        }
+    }
+
+    private class BatchWriter implements Handler<T> {
+        private final DataOutput out;
+        private int written;
+
+        BatchWriter(DataOutput out) {
+            this.out = out;
+        }
+
+        @Override
+        public void added(T entity) {
+            write(RECORD_ADD, () -> writeEntity(out, entity));
+        }
+
+        @Override
+        public void updated(T entity) {
+            write(RECORD_UPDATE, () -> writeEntity(out, entity));
+        }
+
+        @Override
+        public void deleted(int id) {
+            write(RECORD_DELETE, () -> out.writeInt(id));
+        }
+
+        private void write(byte type, IOAction action) {
+            try {
+                out.writeByte(type);
+                action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written++;
+        }
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    // Periodic snapshot: compacts the journal once it holds enough records
+    public void snapshotIfNeeded(Iterable<T> entities, int count) {
+        if (journal.getRecordCount() < snapshotThreshold) {
+            return;
+        }
+        try {
+            writeSnapshot(entities, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing snapshot " + snapshotFile, e);
+        }
+    }
+
+    // Write every live entity to a new snapshot and restart the journal after it
+    public void writeSnapshot(Iterable<T> entities, int count) throws IOException {
+        long nextGeneration = journal.getGeneration() + 1;
+        writeSnapshotFile(entities, count, nextGeneration);
+        journal.reset(nextGeneration);
+    }
+
+    // Must leave either the complete new snapshot or the previous one on disk
+    protected void writeSnapshotFile(Iterable<T> entities, int count, long generation) throws IOException {
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(generation);
+            out.writeInt(count);
+            for (T entity : entities) {
+                writeEntity(out, entity);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        Files.move(tempFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // The id mark last saved by writeReservedIds, or 0 when none has been saved yet
+    public int readReservedIds() throws IOException {
+        if (!Files.exists(idsFile)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(idsFile))) {
+            if (in.readInt() != IDS_MAGIC) {
+                throw new IOException("Not an id file: " + idsFile);
+            }
+            return in.readInt();
+        }
+    }
+
+    // Durably records that ids below the mark may be in use; replaces the file atomically
+    public void writeReservedIds(int reservedUpTo) throws IOException {
+        Path tempFile = idsFile.resolveSibling(idsFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+            buffer.putInt(IDS_MAGIC).putInt(reservedUpTo).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, idsFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void append(byte type, Journal.PayloadWriter writer) {
+        try {
+            journal.append(type, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending to journal", e);
+        }
+    }
+
+    public void sync() throws IOException {
+        journal.sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,152 @@
+package storage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Parses one JSON object whose values are all strings, numbers, booleans or null, which
+// is all a task line holds. Every value is kept as its text; nested objects and arrays
+// are rejected. Malformed input throws IllegalArgumentException.
+class FlatJsonObject {
+    private final String text;
+    private final Map<String, String> values = new HashMap<>();
+    private final StringBuilder buffer = new StringBuilder();
+    private int position;
+
+    FlatJsonObject(String text) {
+        this.text = text;
+        parseObject();
+    }
+
+    // The value's text (unescaped for strings), or null when missing or JSON null
+    String get(String key) {
+        return values.get(key);
+    }
+
+    private void parseObject() {
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                values.put(key, parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+        skipWhitespace();
+        if (position != text.length()) {
+            throw error("Unexpected text after object");
+        }
+    }
+
+    private String parseValue() {
+        char c = peek();
+        if (c == '"') {
+            return parseString();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Nested values are not supported");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("Missing value");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String parseString() {
+        expect('"');
+        buffer.setLength(0);
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return buffer.toString();
+            }
+            if (c != '\\') {
+                buffer.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    buffer.append(escaped);
+                    break;
+                case 'b':
+                    buffer.append('\b');
+                    break;
+                case 'f':
+                    buffer.append('\f');
+                    break;
+                case 'n':
+                    buffer.append('\n');
+                    break;
+                case 'r':
+                    buffer.append('\r');
+                    break;
+                case 't':
+                    buffer.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Truncated \\u escape");
+                    }
+                    try {
+                        buffer.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid \\u escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("Invalid escape \\" + escaped);
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of line");
+        }
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position + 1));
+    }
+}
@@ -0,0 +1,227 @@
+package storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only binary record log: [magic][generation] header, then frames of
+// [length][type][payload][crc32]. Appends are buffered and fsynced together every
+// sync interval (group commit); replay stops at the first torn frame.
+public class Journal implements Closeable {
+    private static final int MAGIC = 0x544A524E; // "TJRN"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public interface RecordHandler {
+        // Returns how many changes the record held, which is what getRecordCount counts
+        int onRecord(byte type, DataInput payload) throws IOException;
+    }
+
+    public interface PayloadWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncExecutor;
+    private final PayloadBuffer payload = new PayloadBuffer();
+    private final DataOutputStream payloadOut = new DataOutputStream(payload);
+    private final CRC32 crc = new CRC32();
+
+    private DataOutputStream out;
+    private long generation;
+    private long recordCount;
+    private boolean created;
+    private boolean dirty;
+    private boolean closed;
+
+    public Journal(Path file, long syncIntervalMillis) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < HEADER_SIZE) {
+            writeHeader(0);
+            created = true;
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("Not a journal file: " + file);
+            }
+            generation = header.getLong();
+            channel.position(channel.size());
+            openWriter();
+        }
+
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-sync-" + file.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncQuietly,
+                syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    // True when this journal file did not exist before it was opened
+    public boolean isNew() {
+        return created;
+    }
+
+    // Changes appended since the last reset, including replayed ones
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public void append(byte type, PayloadWriter writer) throws IOException {
+        append(type, 1, writer);
+    }
+
+    // One frame holding the given number of changes
+    public synchronized void append(byte type, int changes, PayloadWriter writer) throws IOException {
+        ensureOpen();
+        payload.reset();
+        writer.write(payloadOut);
+
+        crc.reset();
+        crc.update(type);
+        crc.update(payload.buffer(), 0, payload.size());
+
+        out.writeInt(payload.size());
+        out.writeByte(type);
+        out.write(payload.buffer(), 0, payload.size());
+        out.writeInt((int) crc.getValue());
+        recordCount += changes;
+        dirty = true;
+    }
+
+    // Read every intact record in order, then position the journal for appends
+    public synchronized void replay(RecordHandler handler) throws IOException {
+        ensureOpen();
+        flush();
+
+        // The journal is bounded by the snapshot threshold, so it is read in one go
+        long fileSize = channel.size();
+        if (fileSize - HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IOException("Journal too large to replay: " + file);
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) (fileSize - HEADER_SIZE));
+        while (data.hasRemaining() && channel.read(data, HEADER_SIZE + data.position()) >= 0) {
+            // keep reading
+        }
+        data.flip();
+
+        long count = 0;
+        BufferDataInput payloadIn = new BufferDataInput(data);
+        int frameOverhead = Integer.BYTES + 1 + Integer.BYTES;
+        while (data.remaining() >= frameOverhead) {
+            int frameStart = data.position();
+            int length = data.getInt();
+            if (length < 0 || length > data.remaining() - 1 - Integer.BYTES) {
+                data.position(frameStart);
+                break;
+            }
+            byte type = data.get();
+            ByteBuffer payloadBytes = data.slice(data.position(), length);
+            data.position(data.position() + length);
+
+            crc.reset();
+            crc.update(type);
+            crc.update(payloadBytes);
+            if ((int) crc.getValue() != data.getInt()) {
+                data.position(frameStart);
+                break;
+            }
+
+            payloadIn.reset(payloadBytes.rewind());
+            count += handler.onRecord(type, payloadIn);
+        }
+        long validEnd = HEADER_SIZE + data.position();
+
+        // Drop any torn tail so new appends follow the last good record
+        if (fileSize > validEnd) {
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        recordCount = count;
+        openWriter();
+    }
+
+    // Discard all records and start a new generation (called once a snapshot covers them)
+    public synchronized void reset(long newGeneration) throws IOException {
+        ensureOpen();
+        flush();
+        channel.truncate(0);
+        writeHeader(newGeneration);
+        channel.force(true);
+        recordCount = 0;
+        dirty = false;
+    }
+
+    public synchronized void sync() throws IOException {
+        if (closed || !dirty) return;
+        flush();
+        channel.force(false);
+        dirty = false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        syncExecutor.shutdown();
+        sync();
+        closed = true;
+        channel.close();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Error syncing journal " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void writeHeader(long newGeneration) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putLong(newGeneration).flip();
+        channel.write(header, 0);
+        channel.position(HEADER_SIZE);
+        generation = newGeneration;
+        openWriter();
+    }
+
+    private void openWriter() {
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    private void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Journal is closed: " + file);
+        }
+    }
+
+    // Reusable output buffer that exposes its backing array
+    private static class PayloadBuffer extends ByteArrayOutputStream {
+        byte[] buffer() { return buf; }
+    }
+}
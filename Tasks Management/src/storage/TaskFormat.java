@@ -0,0 +1,315 @@
+package storage;
+
+import models.Task;
+
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Line-oriented text formats for importing and exporting tasks, one task per line so a
+// file can be split into chunks anywhere between lines. Both carry the id, description,
+// category title, deadline (ISO-8601 instant, or epoch milliseconds when reading),
+// importance level name and completion. Formatting and parsing are thread-safe.
+public enum TaskFormat {
+    CSV {
+        private static final String HEADER = "id,description,category,deadline,importance,completed";
+
+        @Override
+        public String header() {
+            return HEADER;
+        }
+
+        @Override
+        public void write(Task task, StringBuilder out) {
+            out.append(task.getId()).append(',');
+            appendQuoted(out, task.getDescription());
+            out.append(',');
+            appendQuoted(out, task.getCategory().getTitle());
+            out.append(',');
+            appendInstant(out, task.getDeadline().getTime());
+            out.append(',').append(task.getImportance().name())
+                    .append(',').append(task.isCompleted());
+        }
+
+        @Override
+        public TaskRecord parse(String line) {
+            if (line.isEmpty() || line.equals(HEADER)) {
+                return null;
+            }
+            List<String> fields = splitFields(line);
+            if (fields.size() != 6) {
+                throw new IllegalArgumentException("Expected 6 fields, found " + fields.size());
+            }
+            return new TaskRecord(fields.get(1), fields.get(2), parseDeadline(fields.get(3)),
+                    parseImportance(fields.get(4)), parseCompleted(fields.get(5)));
+        }
+
+        // Quotes every text field; a line break would split the record, so it becomes a space
+        private void appendQuoted(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.append("\"\"");
+                } else if (c == '\n' || c == '\r') {
+                    out.append(' ');
+                } else {
+                    out.append(c);
+                }
+            }
+            out.append('"');
+        }
+
+        private List<String> splitFields(String line) {
+            List<String> fields = new ArrayList<>(6);
+            StringBuilder field = new StringBuilder();
+            int i = 0;
+            while (true) {
+                field.setLength(0);
+                if (i < line.length() && line.charAt(i) == '"') {
+                    i++;
+                    while (true) {
+                        if (i >= line.length()) {
+                            throw new IllegalArgumentException("Unterminated quoted field");
+                        }
+                        char c = line.charAt(i++);
+                        if (c == '"') {
+                            if (i < line.length() && line.charAt(i) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                break;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    }
+                    if (i < line.length() && line.charAt(i) != ',') {
+                        throw new IllegalArgumentException("Unexpected text after quoted field");
+                    }
+                } else {
+                    int end = line.indexOf(',', i);
+                    field.append(line, i, end < 0 ? line.length() : end);
+                    i = end < 0 ? line.length() : end;
+                }
+                fields.add(field.toString());
+                if (i >= line.length()) {
+                    return fields;
+                }
+                i++; // the comma
+            }
+        }
+    },
+
+    JSON_LINES {
+        @Override
+        public String header() {
+            return null;
+        }
+
+        @Override
+        public void write(Task task, StringBuilder out) {
+            out.append("{\"id\":").append(task.getId()).append(",\"description\":");
+            appendString(out, task.getDescription());
+            out.append(",\"category\":");
+            appendString(out, task.getCategory().getTitle());
+            out.append(",\"deadline\":\"");
+            appendInstant(out, task.getDeadline().getTime());
+            out.append("\",\"importance\":\"").append(task.getImportance().name())
+                    .append("\",\"completed\":").append(task.isCompleted()).append('}');
+        }
+
+        @Override
+        public TaskRecord parse(String line) {
+            if (line.trim().isEmpty()) {
+                return null;
+            }
+            FlatJsonObject object = new FlatJsonObject(line);
+            return new TaskRecord(object.get("description"), object.get("category"),
+                    parseDeadline(object.get("deadline")), parseImportance(object.get("importance")),
+                    parseCompleted(object.get("completed")));
+        }
+
+        private void appendString(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            out.append('"');
+        }
+    };
+
+    // Header line written before the tasks, or null when the format has none
+    public abstract String header();
+
+    // Appends the task as one line, without the line break
+    public abstract void write(Task task, StringBuilder out);
+
+    // The task on the line, or null for a header or blank line; malformed lines throw
+    // IllegalArgumentException. Ids in the line are not read: imported tasks get new ones
+    public abstract TaskRecord parse(String line);
+
+    public static TaskFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Unknown task file type: " + file.getFileName());
+    }
+
+    private static long parseDeadline(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Deadline cannot be empty");
+        }
+        try {
+            if (Character.isDigit(value.charAt(value.length() - 1))) {
+                return Long.parseLong(value);
+            }
+            long millis = parseUtcInstant(value);
+            return millis != Long.MIN_VALUE ? millis : Instant.parse(value).toEpochMilli();
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid deadline: " + value);
+        }
+    }
+
+    // Same text as Instant.ofEpochMilli(millis).toString() for years 0 to 9999, without
+    // building a ZonedDateTime (Hinnant's civil_from_days)
+    private static void appendInstant(StringBuilder out, long millis) {
+        long days = Math.floorDiv(millis, 86_400_000L);
+        int millisOfDay = (int) Math.floorMod(millis, 86_400_000L);
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            out.append(Instant.ofEpochMilli(millis));
+            return;
+        }
+        pad(out, (int) year, 4).append('-');
+        pad(out, month, 2).append('-');
+        pad(out, day, 2).append('T');
+        pad(out, millisOfDay / 3_600_000, 2).append(':');
+        pad(out, millisOfDay / 60_000 % 60, 2).append(':');
+        pad(out, millisOfDay / 1000 % 60, 2);
+        if (millisOfDay % 1000 != 0) {
+            pad(out.append('.'), millisOfDay % 1000, 3);
+        }
+        out.append('Z');
+    }
+
+    private static StringBuilder pad(StringBuilder out, int value, int width) {
+        for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+        return out.append(value);
+    }
+
+    // Fast path for the yyyy-MM-ddTHH:mm:ss[.fraction]Z form that Instant.toString writes,
+    // several times quicker than Instant.parse; Long.MIN_VALUE for anything else
+    private static long parseUtcInstant(String value) {
+        int length = value.length();
+        if (length < 20 || value.charAt(length - 1) != 'Z' || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = digits(value, 17, 19);
+        int millis = 0;
+        if (length > 20) {
+            if (value.charAt(19) != '.' || length > 30) {
+                return Long.MIN_VALUE;
+            }
+            int fraction = digits(value, 20, length - 1);
+            if (fraction < 0) {
+                return Long.MIN_VALUE;
+            }
+            for (int i = length - 1 - 20; i < 9; i++) {
+                fraction *= 10;
+            }
+            millis = fraction / 1_000_000;
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || (hour | minute | second) < 0
+                || hour > 23 || minute > 59 || second > 59 || day > YearMonth.of(year, month).lengthOfMonth()) {
+            return Long.MIN_VALUE;
+        }
+        // Days since 1970-01-01 in the proleptic Gregorian calendar (Hinnant's days_from_civil)
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long days = era * 146097L + dayOfEra - 719468;
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+    }
+
+    // Non-negative value of the decimal digits in [from, to), or -1 if any is not a digit
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static Task.ImportanceLevel parseImportance(String value) {
+        try {
+            return Task.ImportanceLevel.valueOf(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid importance: " + value);
+        }
+    }
+
+    private static boolean parseCompleted(String value) {
+        if (value == null || value.isEmpty() || value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid completed flag: " + value);
+    }
+}
@@ -0,0 +1,141 @@
+package storage;
+
+import models.Category;
+import models.Task;
+import models.TaskSource;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.function.IntFunction;
+
+// Task journal whose snapshots are memory-mapped columnar files named tasks-<generation>.columns.
+// Opening maps the latest snapshot lazily; only the journal tail is replayed eagerly.
+public class TaskJournal extends EntityJournal<Task> {
+    private static final Task.ImportanceLevel[] IMPORTANCE_LEVELS = Task.ImportanceLevel.values();
+    private static final String SNAPSHOT_PREFIX = "tasks-";
+    private static final String SNAPSHOT_SUFFIX = ".columns";
+
+    private final IntFunction<Category> categoryResolver;
+    private ColumnarSnapshot base;
+
+    public TaskJournal(Path directory, IntFunction<Category> categoryResolver) throws IOException {
+        this(directory, categoryResolver, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    public TaskJournal(Path directory, IntFunction<Category> categoryResolver,
+                       long syncIntervalMillis, int snapshotThreshold) throws IOException {
+        super(directory, "tasks", syncIntervalMillis, snapshotThreshold);
+        this.categoryResolver = categoryResolver;
+    }
+
+    // Map the latest snapshot without materializing any task; null when there is none
+    public TaskSource openSnapshot() throws IOException {
+        Path latest = latestSnapshot();
+        base = latest == null ? null : ColumnarSnapshot.open(latest, categoryResolver);
+        return base;
+    }
+
+    // Replay the journal written after the snapshot returned by openSnapshot
+    public void replayJournal(Handler<Task> handler) throws IOException {
+        replayJournal(base == null ? -1 : base.getGeneration(), handler);
+    }
+
+    @Override
+    protected boolean hasSnapshot() {
+        try {
+            return latestSnapshot() != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected long readSnapshot(Handler<Task> handler) throws IOException {
+        TaskSource snapshot = openSnapshot();
+        if (snapshot == null) {
+            return -1;
+        }
+        for (int row = 0; row < snapshot.size(); row++) {
+            handler.added(snapshot.load(row));
+        }
+        return base.getGeneration();
+    }
+
+    @Override
+    protected void writeSnapshotFile(Iterable<Task> tasks, int count, long generation) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+        Path tempFile = directory.resolve(target.getFileName() + ".tmp");
+        ColumnarSnapshot.write(tempFile, tasks, count, generation);
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteSnapshotsBefore(generation);
+    }
+
+    private Path latestSnapshot() throws IOException {
+        Path latest = null;
+        long latestGeneration = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                long generation = generationOf(file);
+                if (generation > latestGeneration) {
+                    latestGeneration = generation;
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    // Older snapshots may still be mapped by a running store; a failed delete is retried next time
+    private void deleteSnapshotsBefore(long generation) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                long fileGeneration = generationOf(file);
+                if (fileGeneration >= 0 && fileGeneration < generation) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // Still in use; cleaned up after the next snapshot
+                    }
+                }
+            }
+        }
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    protected void writeEntity(DataOutput out, Task task) throws IOException {
+        out.writeInt(task.getId());
+        out.writeUTF(task.getDescription());
+        out.writeInt(task.getCategory().getId());
+        out.writeLong(task.getDeadline().getTime());
+        out.writeByte(task.getImportance().ordinal());
+        out.writeBoolean(task.isCompleted());
+    }
+
+    @Override
+    protected Task readEntity(DataInput in) throws IOException {
+        int id = in.readInt();
+        String description = in.readUTF();
+        Category category = categoryResolver.apply(in.readInt());
+        Date deadline = new Date(in.readLong());
+        Task.ImportanceLevel importance = IMPORTANCE_LEVELS[in.readByte()];
+
+        Task task = new Task(id, description, category, deadline, importance);
+        task.setCompleted(in.readBoolean());
+        return task;
+    }
+}
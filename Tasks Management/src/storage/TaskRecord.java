@@ -0,0 +1,36 @@
+package storage;
+
+import models.Task;
+
+// One task as read from an import file, before it has an id or a resolved category.
+public final class TaskRecord {
+    private final String description;
+    private final String categoryName;
+    private final long deadline;
+    private final Task.ImportanceLevel importance;
+    private final boolean completed;
+
+    public TaskRecord(String description, String categoryName, long deadline,
+                      Task.ImportanceLevel importance, boolean completed) {
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Description cannot be empty");
+        }
+        if (categoryName == null || categoryName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be empty");
+        }
+        if (importance == null) {
+            throw new IllegalArgumentException("Importance cannot be empty");
+        }
+        this.description = description;
+        this.categoryName = categoryName.trim();
+        this.deadline = deadline;
+        this.importance = importance;
+        this.completed = completed;
+    }
+
+    public String getDescription() { return description; }
+    public String getCategoryName() { return categoryName; }
+    public long getDeadline() { return deadline; }
+    public Task.ImportanceLevel getImportance() { return importance; }
+    public boolean isCompleted() { return completed; }
+}
@@ -126,14 +126,13 @@ public class AddTaskDialog extends JDialog {
             String description = taskField.getText().trim();
             if (!description.isEmpty()) {
                 Task newTask = new Task(
-                        generateTaskId(),
+                        taskService.reserveTaskIds(1),
                         description,
                         (Category) categoryCombo.getSelectedItem(),
                         (Date) deadlineSpinner.getValue(),
                         (Task.ImportanceLevel) importanceCombo.getSelectedItem()
                 );
                 taskService.addTask(newTask);
-                uiManager.refreshScreens();
                 dispose();
             } else {
                 JOptionPane.showMessageDialog(this,
@@ -156,11 +155,4 @@ public class AddTaskDialog extends JDialog {
 
         return form;
     }
-
-    private int generateTaskId() {
-        return taskService.getAllTasks().stream()
-                .mapToInt(Task::getId)
-                .max()
-                .orElse(0) + 1;
-    }
 }
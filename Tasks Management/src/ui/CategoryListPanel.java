@@ -1,8 +1,7 @@
 package ui;
 
 import models.Category;
-import services.CategoryService;
-import services.TaskService;
+import models.TaskStatistics;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -12,27 +11,21 @@ import java.util.List;
 
 public class CategoryListPanel extends JPanel {
     private final UIManager uiManager;
-    private final TaskService taskService;
-    private final CategoryService categoryService;
 
-    public CategoryListPanel(UIManager uiManager, TaskService taskService, CategoryService categoryService) {
+    public CategoryListPanel(UIManager uiManager) {
         this.uiManager = uiManager;
-        this.taskService = taskService;
-        this.categoryService = categoryService;
 
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
         setBackground(Color.WHITE);
         setBorder(new EmptyBorder(10, 0, 10, 0));
-
-        refresh();
     }
 
-    public void refresh() {
+    // Counts come from the service's statistics, read off the event thread
+    public void showCategories(List<Category> categories, TaskStatistics statistics) {
         removeAll();
-        List<Category> categories = categoryService.getAllCategories();
 
         for (Category category : categories) {
-            add(createCategoryBox(category));
+            add(createCategoryBox(category, statistics.getCategoryCount(category.getId())));
             add(Box.createRigidArea(new Dimension(0, 2)));
         }
 
@@ -40,7 +33,7 @@ public class CategoryListPanel extends JPanel {
         repaint();
     }
 
-    private JPanel createCategoryBox(Category category) {
+    private JPanel createCategoryBox(Category category, int taskCount) {
         JPanel categoryBox = new JPanel(new BorderLayout());
         categoryBox.setMaximumSize(new Dimension(Integer.MAX_VALUE, 100));
         categoryBox.setBorder(BorderFactory.createCompoundBorder(
@@ -55,8 +48,6 @@ public class CategoryListPanel extends JPanel {
         JLabel titleLabel = new JLabel(category.getTitle());
         titleLabel.setFont(new Font("Inter", Font.BOLD, 16));
 
-        long taskCount = taskService.getTasksByCategory(category).size();
-
         JLabel countLabel = new JLabel(taskCount + " Tasks");
         countLabel.setForeground(Color.GRAY);
 
@@ -1,6 +1,7 @@
         package ui;
 
         import models.Category;
+        import models.TaskStatistics;
         import services.CategoryService;
         import services.TaskService;
 
@@ -8,6 +9,7 @@
         import javax.swing.border.EmptyBorder;
         import javax.swing.border.LineBorder;
         import java.awt.*;
+        import java.util.List;
 
         public class HomeScreen extends JPanel {
             private final UIManager uiManager;
@@ -26,7 +28,7 @@
                 // Initialize labels
                 this.totalTasksLabel = new JLabel();
                 this.incompleteTasksLabel = new JLabel();
-                this.categoryListPanel = new CategoryListPanel(uiManager, taskService, categoryService);
+                this.categoryListPanel = new CategoryListPanel(uiManager);
 
                 // Setup panel
                 setLayout(new BorderLayout());
@@ -42,9 +44,6 @@
 
                 // Add Task Button
                 add(createBottomPanel(), BorderLayout.SOUTH);
-
-                // Initial update
-                updateTaskCounts();
             }
 
 
@@ -165,10 +164,8 @@
                 saveButton.addActionListener(e -> {
                     String name = nameField.getText().trim();
                     if (!name.isEmpty()) {
-                        int newId = categoryService.getAllCategories().size() + 1;
-                        Category newCategory = new Category(newId, name);
+                        Category newCategory = new Category(categoryService.reserveCategoryIds(1), name);
                         categoryService.addCategory(newCategory);
-                        refresh();
                         dialog.dispose();
                     } else {
                         JOptionPane.showMessageDialog(dialog, "Please enter a category name");
@@ -212,25 +209,37 @@
                 return addButton;
             }
 
-            private void updateTaskCounts() {
-                int totalTasks = taskService.getTotalTaskCount();
-                totalTasksLabel.setText("Total tasks: " + totalTasks);
-
-                long incompleteTasks = taskService.getAllTasks().stream()
-                        .filter(task -> !task.isCompleted())
-                        .count();
+            // Counts the home screen shows, gathered off the event thread
+            private static class Summary {
+                final TaskStatistics statistics;
+                final List<Category> categories;
 
-                if (incompleteTasks > 0) {
-                    incompleteTasksLabel.setText("You have " + incompleteTasks + " tasks to complete");
-                } else {
-                    incompleteTasksLabel.setText("All tasks are completed!");
+                Summary(TaskStatistics statistics, List<Category> categories) {
+                    this.statistics = statistics;
+                    this.categories = categories;
                 }
             }
 
-            public void refresh() {
-                updateTaskCounts();
-                categoryListPanel.refresh();
-                revalidate();
-                repaint();
+            RefreshScheduler.Refresh<Summary> createRefresh() {
+                return new RefreshScheduler.Refresh<Summary>() {
+                    @Override
+                    public Summary query() {
+                        return new Summary(taskService.getStatistics(), categoryService.getAllCategories());
+                    }
+
+                    @Override
+                    public void apply(Summary summary) {
+                        TaskStatistics statistics = summary.statistics;
+                        totalTasksLabel.setText("Total tasks: " + statistics.getTotal());
+                        if (statistics.getIncomplete() > 0) {
+                            incompleteTasksLabel.setText("You have " + statistics.getIncomplete() + " tasks to complete");
+                        } else {
+                            incompleteTasksLabel.setText("All tasks are completed!");
+                        }
+                        categoryListPanel.showCategories(summary.categories, statistics);
+                        revalidate();
+                        repaint();
+                    }
+                };
             }
         }
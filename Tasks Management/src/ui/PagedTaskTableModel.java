@@ -0,0 +1,173 @@
+package ui;
+
+import models.Task;
+import models.TaskPage;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+// Table model that fetches tasks a page at a time as rows are painted, keeping only the
+// most recently used pages. Pages load on a background executor: until one arrives its
+// rows read as null and paint as placeholders, then they are repainted on the event
+// thread. Every cell value is the row's Task; the table's renderers decide what each
+// column shows. Call reset() after the underlying tasks change. Event thread only.
+public class PagedTaskTableModel extends AbstractTableModel {
+    public interface PageLoader {
+        TaskPage load(int offset, int limit);
+    }
+
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 8;
+
+    private final Executor background;
+    private final String[] columnNames;
+    private final Map<Integer, List<Task>> pages;
+    private final Set<Integer> loading; // pages requested for the current generation
+    private PageLoader loader;
+    private int rowCount;
+    private volatile int generation; // bumped by every loader change or reset; older loads are dropped
+
+    public PagedTaskTableModel(Executor background, String... columnNames) {
+        this.background = background;
+        this.columnNames = columnNames;
+        this.loading = new HashSet<>();
+        this.pages = new LinkedHashMap<Integer, List<Task>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Task>> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+    }
+
+    // Pages over a list that is already in memory
+    public static PageLoader of(List<Task> tasks) {
+        return (offset, limit) -> {
+            int from = Math.min(offset, tasks.size());
+            int to = Math.min(from + limit, tasks.size());
+            return new TaskPage(tasks.subList(from, to), offset, tasks.size());
+        };
+    }
+
+    // The table is empty until the first page arrives
+    public void setLoader(PageLoader loader) {
+        this.loader = loader;
+        rowCount = 0;
+        reset();
+    }
+
+    // Switch to a loader whose first page was already fetched, e.g. on a background thread
+    public void setLoader(PageLoader loader, TaskPage firstPage) {
+        this.loader = loader;
+        generation++;
+        loading.clear();
+        pages.clear();
+        pages.put(0, firstPage.getTasks());
+        rowCount = firstPage.getTotalCount();
+        fireTableDataChanged();
+    }
+
+    // Drop cached pages and loads still in flight, then re-read the row count from the
+    // first page; rows keep their count and paint as placeholders until it arrives
+    public void reset() {
+        generation++;
+        loading.clear();
+        pages.clear();
+        if (loader == null) {
+            rowCount = 0;
+        } else {
+            request(0);
+        }
+        fireTableDataChanged();
+    }
+
+    // The task shown at the row, or null while its page loads or when the tasks shrank
+    // since the last reset
+    public Task getTask(int row) {
+        if (loader == null || row < 0 || row >= rowCount) {
+            return null;
+        }
+        int pageIndex = row / PAGE_SIZE;
+        List<Task> page = pages.get(pageIndex);
+        if (page == null) {
+            request(pageIndex);
+            return null;
+        }
+        int index = row % PAGE_SIZE;
+        return index < page.size() ? page.get(index) : null;
+    }
+
+    private void request(int pageIndex) {
+        if (!loading.add(pageIndex)) {
+            return;
+        }
+        PageLoader pageLoader = loader;
+        int requested = generation;
+        background.execute(() -> {
+            if (requested != generation) {
+                return; // reset since it was asked for
+            }
+            TaskPage page;
+            try {
+                page = pageLoader.load(pageIndex * PAGE_SIZE, PAGE_SIZE);
+            } catch (RuntimeException e) {
+                System.err.println("Error loading tasks: " + e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    if (requested == generation) {
+                        loading.remove(pageIndex); // asked for again when next painted
+                    }
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> arrived(requested, pageIndex, page));
+        });
+    }
+
+    private void arrived(int requested, int pageIndex, TaskPage page) {
+        if (requested != generation) {
+            return;
+        }
+        loading.remove(pageIndex);
+        pages.put(pageIndex, page.getTasks());
+        if (pageIndex == 0 && page.getTotalCount() != rowCount) {
+            rowCount = page.getTotalCount();
+            fireTableDataChanged();
+        } else {
+            int first = pageIndex * PAGE_SIZE;
+            int last = Math.min(first + PAGE_SIZE, rowCount) - 1;
+            if (last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return Task.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return getTask(row);
+    }
+}
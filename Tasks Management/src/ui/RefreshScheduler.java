@@ -0,0 +1,94 @@
+package ui;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs screen refreshes off the event thread. Requests arriving within one frame are
+// coalesced into a single run; each screen's query runs on a background thread and its
+// result is applied on the event thread, unless a newer query for the same screen has
+// started by then, in which case the stale result is dropped. Other background reads for
+// the screens, such as table pages, run on the same thread through execute().
+public class RefreshScheduler implements Executor {
+    static final long FRAME_MILLIS = 16;
+
+    // A screen's refresh: query() runs in the background, apply() on the event thread
+    public interface Refresh<T> {
+        T query();
+        void apply(T result);
+    }
+
+    private static class Registered<T> {
+        final Refresh<T> refresh;
+        final AtomicLong latestQuery = new AtomicLong();
+
+        Registered(Refresh<T> refresh) {
+            this.refresh = refresh;
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+    private final List<Registered<?>> screens;
+    private final AtomicBoolean scheduled;
+
+    public RefreshScheduler() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ui-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        screens = new CopyOnWriteArrayList<>();
+        scheduled = new AtomicBoolean();
+    }
+
+    public <T> void register(Refresh<T> refresh) {
+        screens.add(new Registered<>(refresh));
+    }
+
+    // Safe to call from any thread and as often as changes happen
+    public void requestRefresh() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::run, FRAME_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Runs after any refresh already queued; the task hands its result to the event thread itself
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        // Cleared first, so a change made while the queries run schedules another run
+        scheduled.set(false);
+        for (Registered<?> screen : screens) {
+            runOne(screen);
+        }
+    }
+
+    private <T> void runOne(Registered<T> screen) {
+        long query = screen.latestQuery.incrementAndGet();
+        T result;
+        try {
+            result = screen.refresh.query();
+        } catch (RuntimeException e) {
+            System.err.println("Error refreshing screen: " + e.getMessage());
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (screen.latestQuery.get() == query) {
+                screen.refresh.apply(result);
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package ui;
 import models.Category;
 import models.SearchCriteria;
 import models.Task;
+import models.TaskPage;
 import services.CategoryService;
 import services.TaskService;
 
@@ -10,7 +11,6 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.util.Date;
-import java.util.List;
 
 
 public class SearchDialog extends JDialog {
@@ -23,6 +23,7 @@ public class SearchDialog extends JDialog {
     private JComboBox<String> completionCombo;
     private JSpinner startDateSpinner;
     private JSpinner endDateSpinner;
+    private JButton searchButton;
 
     public SearchDialog(UIManager uiManager, TaskService taskService, CategoryService categoryService) {
         super(uiManager.getParentFrame(), "Advanced Search", true);
@@ -103,7 +104,7 @@ public class SearchDialog extends JDialog {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
 
-        JButton searchButton = new JButton("Search");
+        searchButton = new JButton("Search");
         searchButton.addActionListener(e -> performSearch());
 
         JButton cancelButton = new JButton("Cancel");
@@ -150,13 +151,29 @@ public class SearchDialog extends JDialog {
         }
 
         SearchCriteria criteria = builder.build();
-        List<Task> results = taskService.advancedSearch(criteria);
 
-        // Show results dialog
-        SearchResultsDialog resultsDialog = new SearchResultsDialog(uiManager.getParentFrame(), results);
-        resultsDialog.setVisible(true);
-
-        uiManager.refreshScreens();
-        dispose();
+        // The first page can mean a scan over every task, so it is fetched in the background;
+        // the results dialog then pages the rest of the matches in by deadline as they scroll into view
+        PagedTaskTableModel.PageLoader results =
+                (offset, limit) -> taskService.searchPage(criteria, Task.SortCriteria.DEADLINE_ASC, offset, limit);
+        RefreshScheduler background = uiManager.getRefreshScheduler();
+        searchButton.setEnabled(false);
+        background.execute(() -> {
+            TaskPage firstPage;
+            try {
+                firstPage = results.load(0, PagedTaskTableModel.PAGE_SIZE);
+            } catch (RuntimeException e) {
+                System.err.println("Error searching tasks: " + e.getMessage());
+                SwingUtilities.invokeLater(() -> searchButton.setEnabled(true));
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (!isDisplayable()) {
+                    return; // cancelled while the search ran
+                }
+                dispose();
+                new SearchResultsDialog(uiManager.getParentFrame(), results, firstPage, background).setVisible(true);
+            });
+        });
     }
 }
\ No newline at end of file
@@ -1,22 +1,29 @@
 package ui;
 
 import models.Task;
+import models.TaskPage;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.text.SimpleDateFormat;
-import java.util.List;
+import java.util.concurrent.Executor;
 
+// Results are paged in through a PagedTaskTableModel, so only the rows on screen are fetched and painted
 public class SearchResultsDialog extends JDialog {
     private final SimpleDateFormat dateFormat;
-    private final List<Task> searchResults;
+    private final PagedTaskTableModel model;
 
-    public SearchResultsDialog(JFrame parentFrame, List<Task> results) {
+    // The first page is fetched by the caller, off the event thread; later pages load on background
+    public SearchResultsDialog(JFrame parentFrame, PagedTaskTableModel.PageLoader results, TaskPage firstPage,
+                               Executor background) {
         super(parentFrame, "Search Results", true);
-        this.searchResults = results;
         this.dateFormat = new SimpleDateFormat("MMM dd, HH:mm");
+        this.model = new PagedTaskTableModel(background, "Task", "Deadline", "Importance", "Status");
+        model.setLoader(results, firstPage);
 
         setupDialog();
     }
@@ -26,13 +33,17 @@ public class SearchResultsDialog extends JDialog {
         setSize(500, 400);
         setLocationRelativeTo(getOwner());
 
-        // Create the header panel
-        JPanel headerPanel = createHeaderPanel();
-
-        // Create the results panel
-        JPanel resultsPanel = createResultsPanel();
-        JScrollPane scrollPane = new JScrollPane(resultsPanel);
-        scrollPane.setBorder(null);
+        // Create the results table, or a message when nothing matched
+        JComponent resultsPanel;
+        if (model.getRowCount() == 0) {
+            JLabel noResultsLabel = new JLabel("No results found", SwingConstants.CENTER);
+            noResultsLabel.setBorder(new EmptyBorder(10, 10, 10, 10));
+            resultsPanel = noResultsLabel;
+        } else {
+            JScrollPane scrollPane = new JScrollPane(createResultsTable());
+            scrollPane.setBorder(null);
+            resultsPanel = scrollPane;
+        }
 
         // Add close button at bottom
         JButton closeButton = new JButton("Close");
@@ -40,89 +51,61 @@ public class SearchResultsDialog extends JDialog {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.add(closeButton);
 
-        add(headerPanel, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        add(resultsPanel, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
-    private JPanel createHeaderPanel() {
-        JPanel panel = new JPanel(new GridLayout(1, 4));
-        panel.setBorder(BorderFactory.createCompoundBorder(
-                new MatteBorder(0, 0, 1, 0, Color.GRAY),
-                new EmptyBorder(10, 10, 10, 10)
-        ));
-        panel.setBackground(new Color(245, 245, 245));
-
-        // Add column headers
-        JLabel taskLabel = new JLabel("Task");
-        JLabel deadlineLabel = new JLabel("Deadline");
-        JLabel importanceLabel = new JLabel("Importance");
-        JLabel statusLabel = new JLabel("Status");
-
-        Font headerFont = new Font("Inter", Font.BOLD, 14);
-        taskLabel.setFont(headerFont);
-        deadlineLabel.setFont(headerFont);
-        importanceLabel.setFont(headerFont);
-        statusLabel.setFont(headerFont);
-
-        panel.add(taskLabel);
-        panel.add(deadlineLabel);
-        panel.add(importanceLabel);
-        panel.add(statusLabel);
-
-        return panel;
+    private JTable createResultsTable() {
+        JTable table = new JTable(model);
+        table.setRowHeight(34);
+        table.setShowVerticalLines(false);
+        table.setGridColor(new Color(230, 230, 230));
+        table.setRowSelectionAllowed(false);
+        table.setFocusable(false);
+        table.setDefaultRenderer(Task.class, new ResultCellRenderer());
+
+        JTableHeader header = table.getTableHeader();
+        header.setFont(new Font("Inter", Font.BOLD, 14));
+        header.setBackground(new Color(245, 245, 245));
+        header.setBorder(new MatteBorder(0, 0, 1, 0, Color.GRAY));
+        header.setReorderingAllowed(false);
+        return table;
     }
 
-    private JPanel createResultsPanel() {
-        JPanel panel = new JPanel();
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-        panel.setBorder(new EmptyBorder(5, 5, 5, 5));
+    private class ResultCellRenderer extends DefaultTableCellRenderer {
+        private final Font font = new Font("Inter", Font.PLAIN, 13);
+        private final EmptyBorder padding = new EmptyBorder(8, 10, 8, 10);
+        private final Color completedColor = new Color(46, 204, 113);
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, null, false, false, row, column);
+            setBorder(padding);
+            setFont(font);
+            setBackground(Color.WHITE);
+            setForeground(Color.BLACK);
+            Task task = (Task) value;
+            if (task == null) {
+                return this;
+            }
 
-        if (searchResults.isEmpty()) {
-            JLabel noResultsLabel = new JLabel("No results found");
-            noResultsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            panel.add(noResultsLabel);
-        } else {
-            for (Task task : searchResults) {
-                panel.add(createTaskRow(task));
-                panel.add(Box.createRigidArea(new Dimension(0, 1)));
+            switch (column) {
+                case 0:
+                    setText(task.getDescription());
+                    break;
+                case 1:
+                    setText(dateFormat.format(task.getDeadline()));
+                    break;
+                case 2:
+                    setText(task.getImportance().getLabel());
+                    setForeground(task.getImportance().getColor());
+                    break;
+                default:
+                    setText(task.isCompleted() ? "Complete" : "Pending");
+                    setForeground(task.isCompleted() ? completedColor : Color.GRAY);
             }
+            return this;
         }
-
-        return panel;
-    }
-
-    private JPanel createTaskRow(Task task) {
-        JPanel row = new JPanel(new GridLayout(1, 4));
-        row.setBorder(BorderFactory.createCompoundBorder(
-                new MatteBorder(0, 0, 1, 0, new Color(230, 230, 230)),
-                new EmptyBorder(8, 10, 8, 10)
-        ));
-        row.setBackground(Color.WHITE);
-
-        // Task name
-        JLabel nameLabel = new JLabel(task.getDescription());
-        nameLabel.setFont(new Font("Inter", Font.PLAIN, 13));
-
-        // Deadline
-        JLabel deadlineLabel = new JLabel(dateFormat.format(task.getDeadline()));
-        deadlineLabel.setFont(new Font("Inter", Font.PLAIN, 13));
-
-        // Importance
-        JLabel importanceLabel = new JLabel(task.getImportance().getLabel());
-        importanceLabel.setFont(new Font("Inter", Font.PLAIN, 13));
-        importanceLabel.setForeground(task.getImportance().getColor());
-
-        // Status
-        JLabel statusLabel = new JLabel(task.isCompleted() ? "Complete" : "Pending");
-        statusLabel.setFont(new Font("Inter", Font.PLAIN, 13));
-        statusLabel.setForeground(task.isCompleted() ? new Color(46, 204, 113) : Color.GRAY);
-
-        row.add(nameLabel);
-        row.add(deadlineLabel);
-        row.add(importanceLabel);
-        row.add(statusLabel);
-
-        return row;
     }
-}
\ No newline at end of file
+}
@@ -1,82 +1,93 @@
 package ui;
 
-import models.Category;
 import models.Task;
+import models.TaskPage;
 import services.TaskService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.text.SimpleDateFormat;
-import java.util.List;
+import java.util.concurrent.Executor;
 
+// Task rows in a JTable backed by a PagedTaskTableModel: only the visible rows are
+// fetched and painted, through one shared renderer, so the cost of showing a category
+// does not grow with the number of tasks in it.
 public class TaskListPanel extends JPanel {
+    private static final int TASK_COLUMN = 0;
+    private static final int DEADLINE_COLUMN = 1;
+    private static final int IMPORTANCE_COLUMN = 2;
+    private static final int STATUS_COLUMN = 3;
+    private static final int DELETE_COLUMN = 4;
+
     private final TaskService taskService;
-    private final UIManager uiManager;
     private final SimpleDateFormat dateFormat;
+    private final PagedTaskTableModel model;
+    private final JTable table;
 
-    public TaskListPanel(TaskService taskService, UIManager uiManager) {
+    // Pages are loaded on background and painted on the event thread
+    public TaskListPanel(TaskService taskService, Executor background) {
         this.taskService = taskService;
-        this.uiManager = uiManager;
         this.dateFormat = new SimpleDateFormat("MMM dd, HH:mm");
-        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setLayout(new BorderLayout());
         setBackground(Color.WHITE);
-    }
 
-    public void updateTasks(List<Task> tasks) {
-        removeAll();
-        add(createHeaderPanel());
+        model = new PagedTaskTableModel(background, "TASK", "DEADLINE", "IMPORTANCE", "STATUS", "");
+        table = new JTable(model);
+        table.setRowHeight(44);
+        table.setShowVerticalLines(false);
+        table.setGridColor(Color.LIGHT_GRAY);
+        table.setRowSelectionAllowed(false);
+        table.setFocusable(false);
+        table.setDefaultRenderer(Task.class, new TaskCellRenderer());
+        table.getColumnModel().getColumn(DELETE_COLUMN).setMaxWidth(60);
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                handleClick(table.rowAtPoint(e.getPoint()), table.columnAtPoint(e.getPoint()));
+            }
+        });
 
-        for (Task task : tasks) {
-            add(createTaskRow(task));
-            add(Box.createRigidArea(new Dimension(0, 2)));
-        }
+        JTableHeader header = table.getTableHeader();
+        header.setFont(new Font("Inter", Font.BOLD, 14));
+        header.setBackground(new Color(245, 245, 245));
+        header.setBorder(new MatteBorder(0, 0, 2, 0, Color.DARK_GRAY));
+        header.setReorderingAllowed(false);
 
-        revalidate();
-        repaint();
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(null);
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        add(scrollPane, BorderLayout.CENTER);
     }
 
-    public void refresh(Category selectedCategory) {
-        removeAll();
-
-        // Add header
-        add(createHeaderPanel());
-
-        // Add tasks
-        List<Task> tasks = taskService.getTasksByCategory(selectedCategory);
-        for (Task task : tasks) {
-            add(createTaskRow(task));
-            add(Box.createRigidArea(new Dimension(0, 2)));
-        }
-
-        revalidate();
-        repaint();
+    // Rows are loaded from the loader as they scroll into view
+    public void showTasks(PagedTaskTableModel.PageLoader loader) {
+        model.setLoader(loader);
     }
 
-    private void updateRowBackground(JPanel row, boolean isCompleted) {
-        if (isCompleted) {
-            row.setBackground(new Color(220, 255, 220)); // Light green for completed
-        } else {
-            row.setBackground(new Color(255, 220, 220)); // Light red for incomplete
-        }
+    public void showTasks(PagedTaskTableModel.PageLoader loader, TaskPage firstPage) {
+        model.setLoader(loader, firstPage);
     }
 
-    private JPanel createDeleteButton(JPanel parentRow, Task task) {
-        JPanel deletePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        deletePanel.setOpaque(false);
-
-        JButton deleteButton = new JButton("×");
-        deleteButton.setFont(new Font("Arial", Font.BOLD, 20));
-        deleteButton.setForeground(Color.RED);
-        deleteButton.setContentAreaFilled(false);
-        deleteButton.setBorderPainted(false);
-        deleteButton.setFocusPainted(false);
-        deleteButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
-
-        deleteButton.addActionListener(e -> {
+    private void handleClick(int row, int column) {
+        Task task = model.getTask(row);
+        if (task == null) {
+            return;
+        }
+        if (column == STATUS_COLUMN) {
+            // The row holds the stored task; toggle a copy so the service sees the change.
+            // The change notification refreshes the screen.
+            Task edited = task.copy();
+            edited.setCompleted(!task.isCompleted());
+            taskService.updateTask(edited);
+        } else if (column == DELETE_COLUMN) {
             int choice = JOptionPane.showConfirmDialog(
-                    SwingUtilities.getWindowAncestor(parentRow),
+                    SwingUtilities.getWindowAncestor(this),
                     "Are you sure you want to delete this task?",
                     "Confirm Delete",
                     JOptionPane.YES_NO_OPTION,
@@ -85,123 +96,56 @@ public class TaskListPanel extends JPanel {
 
             if (choice == JOptionPane.YES_OPTION) {
                 taskService.deleteTask(task.getId());
-                uiManager.refreshScreens();
-            }
-        });
-
-        deleteButton.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                deleteButton.setForeground(new Color(200, 0, 0));
-            }
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                deleteButton.setForeground(Color.RED);
             }
-        });
-
-        deletePanel.add(deleteButton);
-        return deletePanel;
-    }
-
-    private JPanel createHeaderPanel() {
-        JPanel headerPanel = new JPanel(new GridLayout(1, 5, 10, 0));
-        headerPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
-        headerPanel.setBorder(BorderFactory.createCompoundBorder(
-                new MatteBorder(0, 0, 2, 0, Color.DARK_GRAY),
-                new EmptyBorder(10, 10, 10, 10)
-        ));
-        headerPanel.setBackground(new Color(245, 245, 245));
-
-        Font headerFont = new Font("Inter", Font.BOLD, 14);
-
-        // Column headers
-        JLabel[] headers = {
-                new JLabel("TASK"),
-                new JLabel("DEADLINE"),
-                new JLabel("IMPORTANCE"),
-                new JLabel("STATUS"),
-                new JLabel("") // Empty header for delete button column
-        };
-
-        for (JLabel header : headers) {
-            header.setFont(headerFont);
-            headerPanel.add(header);
         }
-
-        return headerPanel;
-    }
-
-    private JPanel createTaskRow(Task task) {
-        JPanel taskRow = new JPanel(new GridLayout(1, 5, 10, 0));
-        taskRow.setMaximumSize(new Dimension(Integer.MAX_VALUE, 60));
-        taskRow.setBorder(BorderFactory.createCompoundBorder(
-                new MatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
-                new EmptyBorder(10, 10, 10, 10)
-        ));
-
-        // Set initial background color based on completion status
-        updateRowBackground(taskRow, task.isCompleted());
-
-        // Task description
-        JLabel taskLabel = new JLabel(task.getDescription());
-        taskLabel.setFont(new Font("Inter", Font.BOLD, 14));
-
-        // Deadline
-        JLabel deadlineLabel = new JLabel(dateFormat.format(task.getDeadline()));
-        deadlineLabel.setFont(new Font("Inter", Font.PLAIN, 14));
-
-        // Importance
-        JPanel importancePanel = createImportancePanel(task);
-
-        // Status
-        JPanel statusPanel = createStatusPanel(task, taskLabel, taskRow);
-
-        // Delete button
-        JPanel deletePanel = createDeleteButton(taskRow, task);
-
-        // Add components
-        taskRow.add(taskLabel);
-        taskRow.add(deadlineLabel);
-        taskRow.add(importancePanel);
-        taskRow.add(statusPanel);
-        taskRow.add(deletePanel);
-
-        return taskRow;
     }
 
-    private JPanel createImportancePanel(Task task) {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
-        panel.setOpaque(false);
-
-        Task.ImportanceLevel importance = task.getImportance();
-        JLabel importanceLabel = new JLabel(importance.getLabel());
-        importanceLabel.setFont(new Font("Inter", Font.PLAIN, 14));
-        importanceLabel.setForeground(importance.getColor());
-
-        panel.add(importanceLabel);
-        return panel;
-    }
-
-    private JPanel createStatusPanel(Task task, JLabel taskLabel, JPanel taskRow) {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        panel.setOpaque(false);
-
-        JCheckBox statusCheckbox = new JCheckBox();
-        statusCheckbox.setSelected(task.isCompleted());
-
-        JLabel statusLabel = new JLabel(task.isCompleted() ? "Complete" : "Pending");
-        statusLabel.setFont(new Font("Inter", Font.PLAIN, 14));
-
-        statusCheckbox.addActionListener(e -> {
-            task.setCompleted(statusCheckbox.isSelected());
-            statusLabel.setText(task.isCompleted() ? "Complete" : "Pending");
-            taskLabel.setForeground(task.isCompleted() ? Color.GRAY : Color.BLACK);
-            updateRowBackground(taskRow, task.isCompleted());
-            taskService.updateTask(task);
-        });
+    private class TaskCellRenderer extends DefaultTableCellRenderer {
+        private final Font boldFont = new Font("Inter", Font.BOLD, 14);
+        private final Font plainFont = new Font("Inter", Font.PLAIN, 14);
+        private final Font deleteFont = new Font("Arial", Font.BOLD, 20);
+        private final EmptyBorder padding = new EmptyBorder(10, 10, 10, 10);
+        private final Color completedBackground = new Color(220, 255, 220); // light green
+        private final Color pendingBackground = new Color(255, 220, 220);   // light red
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, null, false, false, row, column);
+            setBorder(padding);
+            setHorizontalAlignment(LEFT);
+            setFont(plainFont);
+            setForeground(Color.BLACK);
+            Task task = (Task) value;
+            if (task == null) {
+                setBackground(Color.WHITE);
+                return this;
+            }
 
-        panel.add(statusCheckbox);
-        panel.add(statusLabel);
-        return panel;
+            setBackground(task.isCompleted() ? completedBackground : pendingBackground);
+            switch (column) {
+                case TASK_COLUMN:
+                    setText(task.getDescription());
+                    setFont(boldFont);
+                    setForeground(task.isCompleted() ? Color.GRAY : Color.BLACK);
+                    break;
+                case DEADLINE_COLUMN:
+                    setText(dateFormat.format(task.getDeadline()));
+                    break;
+                case IMPORTANCE_COLUMN:
+                    setText(task.getImportance().getLabel());
+                    setForeground(task.getImportance().getColor());
+                    break;
+                case STATUS_COLUMN:
+                    setText((task.isCompleted() ? "☑ " : "☐ ") + (task.isCompleted() ? "Complete" : "Pending"));
+                    break;
+                default:
+                    setText("×");
+                    setFont(deleteFont);
+                    setForeground(Color.RED);
+                    setHorizontalAlignment(CENTER);
+            }
+            return this;
+        }
     }
 }
-
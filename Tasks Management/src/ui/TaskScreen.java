@@ -1,7 +1,10 @@
 package ui;
 
 import models.Category;
+import models.SearchCriteria;
+import models.SortedTaskView;
 import models.Task;
+import models.TaskPage;
 import models.Task.SortCriteria;
 import services.CategoryService;
 import services.TaskService;
@@ -10,14 +13,35 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.util.List;
+import java.util.Date;
 
 public class TaskScreen extends JPanel {
     private final UIManager uiManager;
     private final CategoryService categoryService;
     private final TaskService taskService;
     private final TaskListPanel taskListPanel;
-    private SortCriteria currentSortCriteria = SortCriteria.DEADLINE_ASC;
+    private JButton completeButton;
+    private boolean completing; // a Complete Past Due batch is running; event thread only
+    private volatile SortCriteria currentSortCriteria = SortCriteria.DEADLINE_ASC;
+    private volatile SortedTaskView shownView; // view and version the task list was last built from
+    private volatile int shownVersion;
+
+    // What the task list should show, fetched off the event thread
+    private static class ListState {
+        final Category category;
+        final SortCriteria criteria;
+        final SortedTaskView view;
+        final int version;
+        final TaskPage firstPage;
+
+        ListState(Category category, SortCriteria criteria, SortedTaskView view, int version, TaskPage firstPage) {
+            this.category = category;
+            this.criteria = criteria;
+            this.view = view;
+            this.version = version;
+            this.firstPage = firstPage;
+        }
+    }
 
     public TaskScreen(UIManager uiManager, TaskService taskService, CategoryService categoryService) {
         this.uiManager = uiManager;
@@ -28,16 +52,14 @@ public class TaskScreen extends JPanel {
         // Header
         JPanel header = createHeader();
         // Task List
-        taskListPanel = new TaskListPanel(taskService, uiManager);
-        JScrollPane scrollPane = new JScrollPane(taskListPanel);
-        scrollPane.setBorder(null);
+        taskListPanel = new TaskListPanel(taskService, uiManager.getRefreshScheduler());
 
         // Bottom Panel with Add Task button
         JPanel bottomPanel = createBottomPanel();
 
         // Add components
         add(header, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        add(taskListPanel, BorderLayout.CENTER);
         add(bottomPanel, BorderLayout.SOUTH);
     }
 
@@ -62,12 +84,56 @@ public class TaskScreen extends JPanel {
         Category selectedCategory = uiManager.getSelectedCategory();
         addTaskButton.addActionListener(e -> new AddTaskDialog(uiManager, taskService, categoryService, selectedCategory));
 
+        // Completes every past-due task in the category as one batch, so the list refreshes once
+        completeButton = new JButton("Complete Past Due");
+        completeButton.setFont(new Font("Inter", Font.BOLD, 14));
+        completeButton.setForeground(Color.BLUE);
+        completeButton.setPreferredSize(new Dimension(170, 40));
+        completeButton.setBorder(BorderFactory.createCompoundBorder(
+                new LineBorder(new Color(25, 118, 210), 1, true),
+                new EmptyBorder(5, 15, 5, 15)
+        ));
+        completeButton.setEnabled(selectedCategory != null);
+        completeButton.addActionListener(e -> {
+            Category category = uiManager.getSelectedCategory(); // the category shown now, not at construction
+            if (category != null && !completing) {
+                completePastDue(category);
+            }
+        });
+
+        buttonPanel.add(completeButton);
         buttonPanel.add(addTaskButton);
         bottomPanel.add(buttonPanel, BorderLayout.CENTER);
 
         return bottomPanel;
     }
 
+    // The batch can touch thousands of tasks, so it runs off the event thread; the change
+    // notification refreshes the list, and the button stays disabled until it is done
+    private void completePastDue(Category category) {
+        SearchCriteria pastDue = new SearchCriteria.Builder()
+                .withCategory(category)
+                .withCompletionStatus(false)
+                .withDateRange(new Date(Long.MIN_VALUE), new Date())
+                .build();
+        completing = true;
+        completeButton.setEnabled(false);
+        Thread thread = new Thread(() -> {
+            try {
+                taskService.updateMatching(pastDue, task -> task.setCompleted(true));
+            } catch (RuntimeException e) {
+                System.err.println("Error completing past-due tasks: " + e.getMessage());
+            } finally {
+                SwingUtilities.invokeLater(() -> {
+                    completing = false;
+                    completeButton.setEnabled(uiManager.getSelectedCategory() != null);
+                });
+            }
+        }, "complete-past-due");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private JPanel createHeader() {
         JPanel header = new JPanel(new BorderLayout());
         header.setBackground(Color.BLUE);
@@ -134,7 +200,7 @@ public class TaskScreen extends JPanel {
         sortCombo.setSelectedItem(currentSortCriteria);
         sortCombo.addActionListener(e -> {
             currentSortCriteria = (SortCriteria) sortCombo.getSelectedItem();
-            refresh();
+            uiManager.refreshScreens();
         });
 
         rightPanel.add(sortLabel);
@@ -147,14 +213,37 @@ public class TaskScreen extends JPanel {
         return header;
     }
 
-    public void refresh() {
-        Category selectedCategory = uiManager.getSelectedCategory();
-        List<Task> sortedTasks = taskService.getTasksByCategorySorted(
-                selectedCategory,
-                currentSortCriteria
-        );
-        taskListPanel.updateTasks(sortedTasks);  // Remove the cast
+    // The sorted view and its first page are read in the background; the list is swapped
+    // on the event thread, and only when the view changed since it was last shown
+    RefreshScheduler.Refresh<ListState> createRefresh() {
+        return new RefreshScheduler.Refresh<ListState>() {
+            @Override
+            public ListState query() {
+                Category category = uiManager.getSelectedCategory();
+                SortCriteria criteria = currentSortCriteria;
+                SortedTaskView view = taskService.getSortedView(category, criteria);
+                int version = view.getVersion();
+                if (view == shownView && version == shownVersion) {
+                    return null;
+                }
+                TaskPage firstPage = taskService.getTasksPage(category, criteria, 0, PagedTaskTableModel.PAGE_SIZE);
+                return new ListState(category, criteria, view, version, firstPage);
+            }
+
+            @Override
+            public void apply(ListState state) {
+                completeButton.setEnabled(!completing && uiManager.getSelectedCategory() != null);
+                if (state == null) {
+                    return;
+                }
+                shownView = state.view;
+                shownVersion = state.version;
+                taskListPanel.showTasks((offset, limit) ->
+                        taskService.getTasksPage(state.category, state.criteria, offset, limit), state.firstPage);
+            }
+        };
     }
+
     public TaskListPanel getTaskListPanel() {
         return taskListPanel;
     }
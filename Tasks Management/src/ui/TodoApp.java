@@ -1,31 +1,192 @@
 package ui;
 
+import models.Category;
+import services.CategoryChange;
 import services.CategoryService;
 import services.CategoryServiceImpl;
+import services.ConcurrentTaskService;
+import services.ImportResult;
+import services.TaskExporter;
+import services.TaskImporter;
 import services.TaskService;
 import services.TaskServiceImpl;
+import storage.CategoryJournal;
+import storage.TaskJournal;
 
+import javax.management.JMException;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TodoApp extends JFrame {
-    private final CategoryService categoryService;
-    private final TaskService taskService;
+    private CategoryService categoryService;
+    private TaskService taskService;
     private final UIManager uiManager;
 
     public TodoApp() {
         // Create services in the correct order
-        this.categoryService = new CategoryServiceImpl();
-        this.taskService = new TaskServiceImpl(categoryService);  // Pass categoryService
+        initializeServices(dataDirectory());
+        registerMetrics();
         this.uiManager = new UIManager(this, taskService, categoryService);
 
         initializeFrame();
     }
 
+    private static Path dataDirectory() {
+        String configured = System.getProperty("todo.data.dir");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".todo-app");
+    }
+
+    private void initializeServices(Path dataDir) {
+        CategoryJournal categoryJournal = null;
+        TaskJournal taskJournal = null;
+        try {
+            categoryJournal = new CategoryJournal(dataDir);
+            this.categoryService = new CategoryServiceImpl(categoryJournal);
+
+            // Resolves category ids for as long as the app runs, not just while replaying:
+            // snapshot rows are materialized lazily by concurrent readers under the read
+            // lock, so the map is concurrent and follows renames and deletes as they happen
+            Map<Integer, Category> categoriesById = new ConcurrentHashMap<>();
+            categoryService.addCategoryListener(changes -> {
+                for (CategoryChange change : changes) {
+                    if (change.getType() == CategoryChange.Type.DELETED) {
+                        categoriesById.remove(change.getCategoryId());
+                    } else {
+                        categoriesById.put(change.getCategoryId(), change.getCategory());
+                    }
+                }
+            });
+            for (Category category : categoryService.getAllCategories()) {
+                categoriesById.put(category.getId(), category);
+            }
+            taskJournal = new TaskJournal(dataDir,
+                    id -> categoriesById.computeIfAbsent(id, missing -> new Category(missing, "Uncategorized")));
+            // Shared by the event thread, the screen refresh thread and background jobs
+            this.taskService = new ConcurrentTaskService(new TaskServiceImpl(categoryService, taskJournal));
+
+            CategoryJournal categories = categoryJournal;
+            TaskJournal tasks = taskJournal;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                closeQuietly(tasks);
+                closeQuietly(categories);
+            }, "journal-shutdown"));
+        } catch (IOException e) {
+            System.err.println("Error opening data in " + dataDir + ", running in memory: " + e.getMessage());
+            closeQuietly(taskJournal);
+            closeQuietly(categoryJournal);
+            this.categoryService = new CategoryServiceImpl();
+            this.taskService = new ConcurrentTaskService(new TaskServiceImpl(categoryService));
+        }
+    }
+
+    private void registerMetrics() {
+        try {
+            taskService.getMetrics().register();
+        } catch (JMException e) {
+            System.err.println("Error registering metrics MBean: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            System.err.println("Error closing journal: " + e.getMessage());
+        }
+    }
+
     private void initializeFrame() {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(400, 800);
         setLocationRelativeTo(null);
         setContentPane(uiManager.getMainPanel());
+
+        // Ctrl+Shift+M dumps the service metrics to the console
+        JRootPane root = getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_M, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK),
+                "dumpMetrics");
+        root.getActionMap().put("dumpMetrics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                System.out.println(taskService.getMetrics().dump());
+            }
+        });
+
+        // Ctrl+Shift+I imports tasks from a CSV or JSON Lines file, Ctrl+Shift+E exports them
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_I, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK),
+                "importTasks");
+        root.getActionMap().put("importTasks", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Path file = chooseTaskFile(false);
+                if (file != null) {
+                    runInBackground(() -> {
+                        ImportResult result = new TaskImporter(taskService, categoryService).importFrom(file);
+                        StringBuilder message = new StringBuilder(result.toString());
+                        for (String error : result.getErrors().subList(0, Math.min(5, result.getErrors().size()))) {
+                            message.append('\n').append(error);
+                        }
+                        return message.toString();
+                    });
+                }
+            }
+        });
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_E, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK),
+                "exportTasks");
+        root.getActionMap().put("exportTasks", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Path file = chooseTaskFile(true);
+                if (file != null) {
+                    runInBackground(() -> "Exported " + new TaskExporter(taskService).exportTo(file) + " tasks");
+                }
+            }
+        });
+    }
+
+    private interface FileJob {
+        String run() throws Exception;
+    }
+
+    private Path chooseTaskFile(boolean save) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Tasks (CSV, JSON Lines)", "csv", "jsonl", "ndjson"));
+        int choice = save ? chooser.showSaveDialog(this) : chooser.showOpenDialog(this);
+        return choice == JFileChooser.APPROVE_OPTION ? chooser.getSelectedFile().toPath() : null;
+    }
+
+    // Large files take seconds, so the job runs off the event thread and reports back on it
+    private void runInBackground(FileJob job) {
+        Thread thread = new Thread(() -> {
+            String message;
+            int type = JOptionPane.INFORMATION_MESSAGE;
+            try {
+                message = job.run();
+            } catch (Exception e) {
+                message = "Error: " + e.getMessage();
+                type = JOptionPane.ERROR_MESSAGE;
+            }
+            String text = message;
+            int messageType = type;
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, text, "Tasks", messageType));
+        }, "task-file-job");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     public static void main(String[] args) {
@@ -1,11 +1,14 @@
 package ui;
 
 import models.Category;
+import models.Task;
 import services.CategoryService;
+import services.ReminderScheduler;
 import services.TaskService;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 public class UIManager {
     private final JFrame parentFrame;
@@ -14,7 +17,10 @@ public class UIManager {
     private final JPanel mainPanel;
     private final CardLayout cardLayout;
 
-    private Category selectedCategory;
+    private final RefreshScheduler refreshScheduler;
+    private final ReminderScheduler reminderScheduler;
+
+    private volatile Category selectedCategory;
     private HomeScreen homeScreen;
     private TaskScreen taskScreen;
 
@@ -31,8 +37,22 @@ public class UIManager {
         this.categoryService = categoryService;
         this.cardLayout = new CardLayout();
         this.mainPanel = new JPanel(cardLayout);
+        this.refreshScheduler = new RefreshScheduler();
+        this.reminderScheduler = new ReminderScheduler(taskService, new ReminderScheduler.Listener() {
+            @Override
+            public void due(List<Task> tasks) {
+                refreshScreens(); // overdue counts move with the clock
+                showReminder(tasks);
+            }
+
+            @Override
+            public void overdue(List<Task> tasks) {
+                refreshScreens(); // already counted as overdue; no popup for old deadlines
+            }
+        });
 
         initializeScreens();
+        reminderScheduler.start(); // loads pending deadlines on its own thread, not the event thread
     }
 
     private void initializeScreens() {
@@ -44,6 +64,13 @@ public class UIManager {
         if (!categoryService.getAllCategories().isEmpty()) {
             selectedCategory = categoryService.getAllCategories().get(0);
         }
+        refreshScheduler.register(homeScreen.createRefresh());
+        refreshScheduler.register(taskScreen.createRefresh());
+
+        // Any change to tasks or categories refreshes the screens, wherever it came from
+        taskService.addTaskListener(changes -> refreshScreens());
+        categoryService.addCategoryListener(changes -> refreshScreens());
+        refreshScreens();
     }
 
     // Screen management
@@ -51,9 +78,9 @@ public class UIManager {
         cardLayout.show(mainPanel, screenName);
     }
 
+    // Coalesced and run in the background; safe to call after every change
     public void refreshScreens() {
-        homeScreen.refresh();
-        taskScreen.refresh();
+        refreshScheduler.requestRefresh();
     }
 
     // Category management
@@ -66,7 +93,7 @@ public class UIManager {
             throw new IllegalArgumentException("Category cannot be null");
         }
         this.selectedCategory = category;
-        taskScreen.refresh();
+        refreshScreens();
     }
 
     // Getters for dependencies
@@ -74,6 +101,11 @@ public class UIManager {
         return parentFrame;
     }
 
+    // Background thread for screen queries, shared by paged tables and dialogs
+    public RefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
+    }
+
     public TaskService getTaskService() {
         return taskService;
     }
@@ -98,6 +130,25 @@ public class UIManager {
         );
     }
 
+    // Reminders arrive on the scheduler's thread
+    private void showReminder(List<Task> tasks) {
+        StringBuilder message = new StringBuilder(tasks.size() == 1 ? "Task due now:" : "Tasks due now:");
+        for (int i = 0; i < tasks.size() && i < 5; i++) {
+            message.append("\n• ").append(tasks.get(i).getDescription());
+        }
+        if (tasks.size() > 5) {
+            message.append("\n…and ").append(tasks.size() - 5).append(" more");
+        }
+        SwingUtilities.invokeLater(() ->
+                JOptionPane.showMessageDialog(
+                        parentFrame,
+                        message.toString(),
+                        "Reminder",
+                        JOptionPane.INFORMATION_MESSAGE
+                )
+        );
+    }
+
     // Confirmation dialogs
     public boolean confirmAction(String message) {
         return JOptionPane.showConfirmDialog(